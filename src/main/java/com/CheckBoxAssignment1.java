@@ -6,15 +6,16 @@ import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 
 import org.testng.Assert;
 
+import com.example.DriverPool;
+import com.example.TestSite;
+
 public class CheckBoxAssignment1 {
     public static void main(String[] args) throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        driver.get("https://rahulshettyacademy.com/AutomationPractice/");
+        WebDriver driver = DriverPool.shared().lease();
+        driver.get(TestSite.automationPractice());
         Thread.sleep(2000);
         WebElement firstChecElement = driver.findElement(By.xpath("//input[@id='checkBoxOption1']"));
         Thread.sleep(2000);
@@ -27,6 +28,6 @@ public class CheckBoxAssignment1 {
         List<WebElement> checkboxes = driver.findElements(By.xpath("//input[@type='checkbox']"));
 
         System.out.println("Total checkboxes: " + checkboxes.size());
-        driver.quit();
+        DriverPool.shared().release(driver);
     }
 }
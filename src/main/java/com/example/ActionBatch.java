@@ -0,0 +1,215 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Queues clicks, typing and selections and runs them all in one
+ * executeScript call, checking each step's post-condition in that same call.
+ *
+ * A sequence like "open the passenger box, press + four times, close it"
+ * otherwise costs one round-trip per click plus one per check. Here it is
+ * a single round-trip:
+ *
+ * <pre>
+ * ActionBatch.Result result = new ActionBatch(driver)
+ *         .click("#divpaxinfo")
+ *         .click("#hrefIncAdt").times(4).expectText("#divpaxinfo", "5 Adult")
+ *         .click("#btnclosepaxoption")
+ *         .flush();
+ * Assert.assertTrue(result.passed(), result.toString());
+ * </pre>
+ *
+ * Targets are CSS selectors or already located elements. Steps stop at the
+ * first failure; later steps are reported as not run. Clicks use the DOM
+ * click() and typing sets the value and fires input/change events, so this
+ * suits plain HTML controls; hovers and drag-and-drop still need Actions.
+ */
+public class ActionBatch {
+
+    // Runs the steps in order; returns one {ok, actual, error} per step that ran
+    private static final String FLUSH_SCRIPT =
+            "var steps = arguments[0], results = [];"
+            + "function find(t) {"
+            + "  var e = typeof t === 'string' ? document.querySelector(t) : t;"
+            + "  if (!e) { throw new Error('no element for ' + t); }"
+            + "  return e;"
+            + "}"
+            + "function fire(e, type) { e.dispatchEvent(new Event(type, {bubbles: true})); }"
+            + "for (var i = 0; i < steps.length; i++) {"
+            + "  var s = steps[i], r = {ok: true, actual: null, error: null};"
+            + "  try {"
+            + "    var e = find(s.target);"
+            + "    if (s.action === 'click') { e.click(); }"
+            + "    else if (s.action === 'type') { e.focus(); e.value = s.text; fire(e, 'input'); fire(e, 'change'); }"
+            + "    else if (s.action === 'select') {"
+            + "      var found = false;"
+            + "      for (var j = 0; j < e.options.length; j++) {"
+            + "        if (e.options[j].text.trim() === s.text || e.options[j].value === s.text) { e.selectedIndex = j; found = true; break; }"
+            + "      }"
+            + "      if (!found) { throw new Error('no option ' + s.text); }"
+            + "      fire(e, 'input'); fire(e, 'change');"
+            + "    }"
+            + "    if (s.expect === 'checked') { r.actual = String(!!e.checked); r.ok = r.actual === s.expected; }"
+            + "    else if (s.expect === 'value') { r.actual = e.value; r.ok = r.actual === s.expected; }"
+            + "    else if (s.expect === 'text') {"
+            + "      r.actual = (find(s.expectTarget).innerText || find(s.expectTarget).textContent || '').trim();"
+            + "      r.ok = r.actual === s.expected;"
+            + "    }"
+            + "  } catch (err) { r.ok = false; r.error = String(err.message || err); }"
+            + "  results.push(r);"
+            + "  if (!r.ok) { break; }"
+            + "}"
+            + "return results;";
+
+    /** Outcome of one queued step; actual is the observed state when it had a post-condition */
+    public record StepResult(String description, boolean ok, String actual, String error) {
+    }
+
+    /** Outcome of a flush, one entry per queued step */
+    public record Result(List<StepResult> steps) {
+
+        public boolean passed() {
+            return steps.stream().allMatch(StepResult::ok);
+        }
+
+        public List<StepResult> failures() {
+            return steps.stream().filter(step -> !step.ok()).toList();
+        }
+
+        @Override
+        public String toString() {
+            return passed() ? steps.size() + " steps passed" : "Failed steps: " + failures();
+        }
+    }
+
+    private final JavascriptExecutor js;
+    private final List<Map<String, Object>> steps = new ArrayList<>();
+    private final List<String> descriptions = new ArrayList<>();
+
+    public ActionBatch(WebDriver driver) {
+        this.js = (JavascriptExecutor) driver;
+    }
+
+    public ActionBatch click(String cssSelector) {
+        return add("click", cssSelector, null);
+    }
+
+    public ActionBatch click(WebElement element) {
+        return add("click", element, null);
+    }
+
+    /** Replace the value of a text input or textarea */
+    public ActionBatch type(String cssSelector, String text) {
+        return add("type", cssSelector, text);
+    }
+
+    public ActionBatch type(WebElement element, String text) {
+        return add("type", element, text);
+    }
+
+    /** Pick an option of a select by its visible text or value */
+    public ActionBatch select(String cssSelector, String textOrValue) {
+        return add("select", cssSelector, textOrValue);
+    }
+
+    public ActionBatch select(WebElement element, String textOrValue) {
+        return add("select", element, textOrValue);
+    }
+
+    /** Queue the last step count times in total; a post-condition is checked after the last one */
+    public ActionBatch times(int count) {
+        Map<String, Object> last = last();
+        Map<String, Object> repeat = new HashMap<>(last);
+        repeat.remove("expect");
+        repeat.remove("expectTarget");
+        repeat.remove("expected");
+        int index = steps.size() - 1;
+        String description = descriptions.get(index).split(", expect ")[0];
+        for (int i = 1; i < count; i++) {
+            steps.add(index, new HashMap<>(repeat));
+            descriptions.add(index, description);
+        }
+        return this;
+    }
+
+    /** After the last step, its target must be checked (or unchecked) */
+    public ActionBatch expectChecked(boolean checked) {
+        return expect("checked", null, String.valueOf(checked));
+    }
+
+    /** After the last step, its target's value must equal value */
+    public ActionBatch expectValue(String value) {
+        return expect("value", null, value);
+    }
+
+    /** After the last step, the trimmed text of another element must equal text */
+    public ActionBatch expectText(String cssSelector, String text) {
+        return expect("text", cssSelector, text);
+    }
+
+    public int size() {
+        return steps.size();
+    }
+
+    /** Run every queued step in one round-trip and clear the queue */
+    @SuppressWarnings("unchecked")
+    public Result flush() {
+        if (steps.isEmpty()) {
+            return new Result(List.of());
+        }
+        List<Map<String, Object>> ran = (List<Map<String, Object>>) js.executeScript(FLUSH_SCRIPT, steps);
+        List<StepResult> results = new ArrayList<>(steps.size());
+        for (int i = 0; i < steps.size(); i++) {
+            if (i < ran.size()) {
+                Map<String, Object> step = ran.get(i);
+                results.add(new StepResult(descriptions.get(i), Boolean.TRUE.equals(step.get("ok")),
+                        (String) step.get("actual"), (String) step.get("error")));
+            } else {
+                results.add(new StepResult(descriptions.get(i), false, null, "not run"));
+            }
+        }
+        steps.clear();
+        descriptions.clear();
+        return new Result(List.copyOf(results));
+    }
+
+    private ActionBatch add(String action, Object target, String text) {
+        Map<String, Object> step = new HashMap<>();
+        step.put("action", action);
+        step.put("target", target);
+        if (text != null) {
+            step.put("text", text);
+        }
+        steps.add(step);
+        descriptions.add(action + " " + (target instanceof String ? target : "element")
+                + (text == null ? "" : " '" + text + "'"));
+        return this;
+    }
+
+    private ActionBatch expect(String kind, String expectTarget, String expected) {
+        Map<String, Object> last = last();
+        last.put("expect", kind);
+        if (expectTarget != null) {
+            last.put("expectTarget", expectTarget);
+        }
+        last.put("expected", expected);
+        int index = descriptions.size() - 1;
+        descriptions.set(index, descriptions.get(index) + ", expect " + kind
+                + (expectTarget == null ? "" : " of " + expectTarget) + " = " + expected);
+        return this;
+    }
+
+    private Map<String, Object> last() {
+        if (steps.isEmpty()) {
+            throw new IllegalStateException("No step queued yet");
+        }
+        return steps.get(steps.size() - 1);
+    }
+}
@@ -0,0 +1,371 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.NetworkInterceptor;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.json.TypeToken;
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.Filter;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+/**
+ * Record/replay cache for the static assets a page loads (scripts, styles,
+ * images, fonts), plugged into the browser through Selenium's CDP
+ * {@link NetworkInterceptor}.
+ *
+ * Documents and data (text/html and JSON responses) always go to the
+ * network: they are what the tests check, and a replayed copy would hide
+ * any change to them. The first GET of any other URL goes to the network and the response body is
+ * stored under its SHA-256 hash (identical bodies are stored once). Later
+ * requests for the same URL are answered from disk without touching the
+ * network, with the status and response headers of the original (CORS,
+ * caching and content headers matter for fonts). A manifest maps
+ * URLs to hashes; deleting lines from it (or calling
+ * {@link #invalidate(String)}) forces a refetch. The cache is bounded in
+ * size and evicts the least recently used URLs first. Objects nothing
+ * refers to any more are deleted, and ones a failed delete left behind are
+ * swept up by the next flush or start.
+ *
+ * Enabled for every launched browser with -Dasset.cache=true. Location and
+ * size come from -Dasset.cache.dir (default asset-cache) and
+ * -Dasset.cache.max.mb (default 200).
+ */
+public class AssetCache {
+
+    private static final String MANIFEST = "manifest.tsv";
+
+    // Not replayed: describe the original transfer rather than the body, or belong to the original session
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "content-length", "content-encoding", "transfer-encoding", "connection", "keep-alive", "date",
+            "set-cookie", "x-asset-cache");
+
+    // Unreferenced objects younger than this may belong to another JVM sharing the directory (shards)
+    private static final long ORPHAN_AGE_MS = 60 * 60 * 1000;
+
+    // Documents and XHR payloads are never stored, see isStatic()
+    private static final List<String> UNCACHED_TYPES = List.of("text/html", "application/json", "+json");
+
+    private static final Json JSON = new Json();
+    private static final Type HEADERS_TYPE = new TypeToken<Map<String, List<String>>>() { }.getType();
+
+    private static AssetCache shared;
+
+    /** One cached URL, with the response headers to replay */
+    private record Entry(String hash, int status, Map<String, List<String>> headers, long size) {
+    }
+
+    private final Path directory;
+    private final long maxBytes;
+    // Access-ordered, so iteration starts at the least recently used URL
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Integer> references = new HashMap<>();
+    private final Set<String> undeleted = new HashSet<>();
+    private long storedBytes;
+    private boolean dirty;
+
+    private long hits;
+    private long misses;
+    private long bytesServed;
+
+    public AssetCache(Path directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        loadManifest();
+        sweepOrphans();
+    }
+
+    public static synchronized AssetCache shared() {
+        if (shared == null) {
+            Path directory = Paths.get(System.getProperty("asset.cache.dir", "asset-cache"));
+            long maxBytes = Long.getLong("asset.cache.max.mb", 200) * 1024 * 1024;
+            shared = new AssetCache(directory, maxBytes);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::flush, "asset-cache-flush"));
+        }
+        return shared;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean("asset.cache");
+    }
+
+    /**
+     * Route the browser's requests through this cache. Keep the returned
+     * interceptor open for as long as the session is used.
+     */
+    public NetworkInterceptor attach(WebDriver driver) {
+        return new NetworkInterceptor(driver, filter());
+    }
+
+    /** Filter that answers cached GETs locally and records successful static ones */
+    public Filter filter() {
+        return next -> request -> {
+            if (request.getMethod() != HttpMethod.GET) {
+                return next.execute(request);
+            }
+            String url = request.getUri();
+            HttpResponse cached = replay(url);
+            if (cached != null) {
+                return cached;
+            }
+            HttpResponse response = next.execute(request);
+            if (response.getStatus() == 200 && isStatic(response)) {
+                byte[] body = Contents.bytes(response.getContent());
+                response.setContent(Contents.bytes(body));
+                store(url, response, body);
+            }
+            return response;
+        };
+    }
+
+    /** False for pages and API payloads, whose content may change between requests */
+    private static boolean isStatic(HttpResponse response) {
+        String contentType = response.getHeader("Content-Type");
+        if (contentType == null) {
+            return true;
+        }
+        String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        return UNCACHED_TYPES.stream().noneMatch(mediaType::endsWith);
+    }
+
+    private synchronized HttpResponse replay(String url) {
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        byte[] body;
+        try {
+            body = Files.readAllBytes(objectPath(entry.hash()));
+        } catch (IOException e) {
+            // Object deleted behind our back, refetch it
+            remove(url);
+            misses++;
+            return null;
+        }
+        hits++;
+        bytesServed += body.length;
+        HttpResponse response = new HttpResponse().setStatus(entry.status());
+        entry.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader("X-Asset-Cache", "hit");
+        response.setContent(Contents.bytes(body));
+        return response;
+    }
+
+    private synchronized void store(String url, HttpResponse response, byte[] body) {
+        if (body.length > maxBytes) {
+            return;
+        }
+        String hash = sha256(body);
+        Path object = objectPath(hash);
+        try {
+            if (!Files.exists(object)) {
+                Files.createDirectories(object.getParent());
+                Path temp = Files.createTempFile(object.getParent(), hash, ".tmp");
+                Files.write(temp, body);
+                Files.move(temp, object, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+        } catch (IOException e) {
+            EventLog.shared().warn("asset.cache.unstored", "url", url, "error", String.valueOf(e.getMessage()));
+            return;
+        }
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.forEachHeader((name, value) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                headers.computeIfAbsent(name, n -> new ArrayList<>()).add(value);
+            }
+        });
+        // Reference the new object before releasing the old entry: when two parallel misses store the
+        // same body, releasing first would drop the last reference and delete the file just written
+        addReference(hash, body.length);
+        Entry previous = entries.put(url, new Entry(hash, 200, headers, body.length));
+        if (previous != null) {
+            releaseReference(previous);
+        }
+        dirty = true;
+        evictIfNeeded();
+    }
+
+    /** Drop every cached URL starting with the given prefix */
+    public synchronized int invalidate(String urlPrefix) {
+        List<String> urls = entries.keySet().stream().filter(url -> url.startsWith(urlPrefix)).toList();
+        for (String url : urls) {
+            remove(url);
+        }
+        return urls.size();
+    }
+
+    private void evictIfNeeded() {
+        // Iterate entries rather than calling get(), which would reorder the map mid-iteration
+        Iterator<Map.Entry<String, Entry>> lru = entries.entrySet().iterator();
+        while (storedBytes > maxBytes && lru.hasNext()) {
+            Entry entry = lru.next().getValue();
+            lru.remove();
+            releaseReference(entry);
+            dirty = true;
+        }
+    }
+
+    private void remove(String url) {
+        Entry entry = entries.remove(url);
+        if (entry != null) {
+            releaseReference(entry);
+            dirty = true;
+        }
+    }
+
+    private void addReference(String hash, long size) {
+        if (references.merge(hash, 1, Integer::sum) == 1) {
+            storedBytes += size;
+        }
+    }
+
+    private void releaseReference(Entry entry) {
+        int remaining = references.merge(entry.hash(), -1, Integer::sum);
+        if (remaining <= 0) {
+            references.remove(entry.hash());
+            storedBytes -= entry.size();
+            deleteObject(entry.hash());
+        }
+    }
+
+    private void deleteObject(String hash) {
+        try {
+            Files.deleteIfExists(objectPath(hash));
+            undeleted.remove(hash);
+        } catch (IOException e) {
+            // Retried on the next flush unless the same content comes back first
+            undeleted.add(hash);
+        }
+    }
+
+    /** Delete objects (and temp files of interrupted writes) that no manifest entry refers to */
+    private synchronized void sweepOrphans() {
+        Path objects = directory.resolve("objects");
+        if (!Files.isDirectory(objects)) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - ORPHAN_AGE_MS;
+        try (Stream<Path> files = Files.walk(objects)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                String name = file.getFileName().toString();
+                if (!references.containsKey(name) && Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            EventLog.shared().warn("asset.cache.unswept", "error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    private Path objectPath(String hash) {
+        return directory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void loadManifest() {
+        Path manifest = directory.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return;
+        }
+        try {
+            // Stored oldest first, so re-inserting keeps the LRU order
+            for (String line : Files.readAllLines(manifest)) {
+                String[] fields = line.split("\t", -1);
+                if (fields.length < 6 || !Files.exists(objectPath(fields[1]))) {
+                    continue;
+                }
+                Map<String, List<String>> headers = JSON.toType(fields[5], HEADERS_TYPE);
+                Entry entry = new Entry(fields[1], Integer.parseInt(fields[2]), headers, Long.parseLong(fields[4]));
+                entries.put(fields[0], entry);
+                addReference(entry.hash(), entry.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            EventLog.shared().warn("asset.cache.manifest.unreadable", "error", String.valueOf(e.getMessage()));
+            entries.clear();
+            references.clear();
+            storedBytes = 0;
+        }
+    }
+
+    /** Write the manifest (url, hash, status, content type, size, headers as JSON per line) */
+    public synchronized void flush() {
+        for (String hash : List.copyOf(undeleted)) {
+            if (!references.containsKey(hash)) {
+                deleteObject(hash);
+            }
+        }
+        if (!dirty) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Path temp = directory.resolve(MANIFEST + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                for (Map.Entry<String, Entry> e : entries.entrySet()) {
+                    Entry entry = e.getValue();
+                    List<String> contentType = entry.headers().getOrDefault("Content-Type", List.of());
+                    writer.write(e.getKey() + "\t" + entry.hash() + "\t" + entry.status() + "\t"
+                            + (contentType.isEmpty() ? "" : contentType.get(0)) + "\t" + entry.size()
+                            + "\t" + headersJson(entry.headers()));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.REPLACE_EXISTING);
+            dirty = false;
+        } catch (IOException e) {
+            EventLog.shared().warn("asset.cache.manifest.unsaved", "error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    /** Headers as single-line JSON, so they fit one manifest field */
+    private static String headersJson(Map<String, List<String>> headers) {
+        StringBuilder json = new StringBuilder();
+        try (JsonOutput out = JSON.newOutput(json)) {
+            out.setPrettyPrint(false).write(headers);
+        }
+        return json.toString();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public synchronized String report() {
+        return String.format("Asset cache: %d hits, %d misses, %.1f KB served locally, %d URLs / %.1f KB stored",
+                hits, misses, bytesServed / 1024.0, entries.size(), storedBytes / 1024.0);
+    }
+}
@@ -0,0 +1,171 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Autosuggest (typeahead) input driven by a mutation hook instead of a
+ * fixed sleep and a list of guessed selectors.
+ *
+ * pick() arms a MutationObserver on the page and clears the input, types
+ * the prefix with real keystrokes, and then in one async script waits for
+ * the suggestion list to render, clicks the option with the target text
+ * and returns every option shown:
+ *
+ * <pre>
+ * AutoSuggest countries = new AutoSuggest(driver, By.id("autosuggest"));
+ * AutoSuggest.Pick pick = countries.pick("ind", "India", Duration.ofSeconds(2));
+ * System.out.println(AutoSuggest.report());
+ * </pre>
+ *
+ * The hook also measures, in the browser, how long each typed prefix took
+ * from its keystroke to the suggestions appearing. Those latencies are kept
+ * per prefix in a {@link LatencyHistogram} shared by all instances, so the
+ * page's typeahead performance can be tracked across runs.
+ */
+public class AutoSuggest {
+
+    /** Suggestion items of jQuery UI autocomplete, as on both practice pages */
+    public static final String JQUERY_UI_ITEMS = "ul.ui-autocomplete li.ui-menu-item";
+
+    private static final Map<String, LatencyHistogram> LATENCIES = new ConcurrentHashMap<>();
+
+    // Clears the input, then records each input event and the time the next visible list renders
+    private static final String ARM_SCRIPT =
+            "var input = arguments[0], selector = arguments[1];"
+            + "var old = window.__autoSuggest;"
+            + "if (old) { old.observer.disconnect(); old.input.removeEventListener('input', old.onInput); }"
+            + "var state = {input: input, selector: selector, pending: null, latencies: [], onRender: null};"
+            + "state.items = function () {"
+            + "  return Array.prototype.filter.call(document.querySelectorAll(selector), function (e) {"
+            + "    return e.getClientRects().length > 0;"
+            + "  });"
+            + "};"
+            + "state.onInput = function () { state.pending = {prefix: input.value, t: performance.now()}; };"
+            + "state.observer = new MutationObserver(function () {"
+            + "  if (state.pending && state.items().length > 0) {"
+            + "    state.latencies.push({prefix: state.pending.prefix, micros: Math.round((performance.now() - state.pending.t) * 1000)});"
+            + "    state.pending = null;"
+            + "  }"
+            + "  if (state.onRender) { state.onRender(); }"
+            + "});"
+            + "state.observer.observe(document.body, {childList: true, subtree: true, attributes: true, attributeFilter: ['style', 'class']});"
+            + "input.addEventListener('input', state.onInput);"
+            + "input.value = '';"
+            + "window.__autoSuggest = state;";
+
+    // Waits for the list that follows the last keystroke, clicks the option whose text matches and reports
+    private static final String PICK_SCRIPT =
+            "var target = arguments[0].toLowerCase(), timeout = arguments[1], done = arguments[arguments.length - 1];"
+            + "var state = window.__autoSuggest, timer;"
+            + "function finish(picked, timedOut, options) {"
+            + "  clearTimeout(timer);"
+            + "  state.onRender = null;"
+            + "  state.observer.disconnect();"
+            + "  state.input.removeEventListener('input', state.onInput);"
+            + "  done({picked: picked, timedOut: timedOut, options: options, value: state.input.value, latencies: state.latencies});"
+            + "}"
+            + "function attempt() {"
+            + "  if (state.pending) { return; }"
+            + "  var items = state.items();"
+            + "  if (items.length === 0) { return; }"
+            + "  var texts = items.map(function (e) { return (e.innerText || e.textContent || '').trim(); });"
+            + "  for (var i = 0; i < items.length; i++) {"
+            + "    if (texts[i].toLowerCase() === target) {"
+            + "      (items[i].firstElementChild || items[i]).click();"
+            + "      finish(texts[i], false, texts);"
+            + "      return;"
+            + "    }"
+            + "  }"
+            + "  finish(null, false, texts);"
+            + "}"
+            + "state.onRender = attempt;"
+            + "timer = setTimeout(function () {"
+            + "  finish(null, true, state.items().map(function (e) { return (e.innerText || e.textContent || '').trim(); }));"
+            + "}, timeout);"
+            + "attempt();";
+
+    /** Outcome of one pick: the option clicked (null if none), all options shown and the input's value after */
+    public record Pick(String picked, boolean timedOut, List<String> options, String value) {
+
+        public boolean isPicked() {
+            return picked != null;
+        }
+    }
+
+    private final WebDriver driver;
+    private final By input;
+    private final String itemSelector;
+
+    public AutoSuggest(WebDriver driver, By input) {
+        this(driver, input, JQUERY_UI_ITEMS);
+    }
+
+    /** itemSelector: CSS selector of one suggestion in the rendered list */
+    public AutoSuggest(WebDriver driver, By input, String itemSelector) {
+        this.driver = driver;
+        this.input = input;
+        this.itemSelector = itemSelector;
+    }
+
+    /**
+     * Type the prefix and click the suggestion whose text equals target
+     * (ignoring case). Four round-trips: find, arm, type, wait-and-pick.
+     */
+    @SuppressWarnings("unchecked")
+    public Pick pick(String prefix, String target, Duration timeout) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        WebElement field = driver.findElement(input);
+        js.executeScript(ARM_SCRIPT, field, itemSelector);
+        field.sendKeys(prefix);
+
+        Duration scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+        if (scriptTimeout.compareTo(timeout.plusSeconds(1)) < 0) {
+            driver.manage().timeouts().scriptTimeout(timeout.plusSeconds(1));
+        }
+        Map<String, Object> result = (Map<String, Object>) js.executeAsyncScript(PICK_SCRIPT, target, timeout.toMillis());
+
+        for (Map<String, Object> latency : (List<Map<String, Object>>) result.get("latencies")) {
+            record((String) latency.get("prefix"), ((Number) latency.get("micros")).longValue());
+        }
+        List<String> options = new ArrayList<>();
+        for (Object option : (List<Object>) result.get("options")) {
+            options.add(String.valueOf(option));
+        }
+        return new Pick((String) result.get("picked"), Boolean.TRUE.equals(result.get("timedOut")),
+                List.copyOf(options), (String) result.get("value"));
+    }
+
+    static void record(String prefix, long micros) {
+        LATENCIES.computeIfAbsent(prefix, p -> new LatencyHistogram()).record(micros);
+    }
+
+    /** Keystroke-to-suggestion latency per typed prefix, in microseconds */
+    public static Map<String, LatencyHistogram> getLatencies() {
+        return new TreeMap<>(LATENCIES);
+    }
+
+    public static void reset() {
+        LATENCIES.clear();
+    }
+
+    public static String report() {
+        StringBuilder report = new StringBuilder("Keystroke-to-suggestion latency (ms: p50 / p90 / p99 / max):");
+        for (Map.Entry<String, LatencyHistogram> prefix : getLatencies().entrySet()) {
+            LatencyHistogram latency = prefix.getValue();
+            report.append(String.format("%n   %-12s x%-5d %8.1f / %8.1f / %8.1f / %8.1f", "'" + prefix.getKey() + "'",
+                    latency.getCount(), latency.percentile(50) / 1000.0, latency.percentile(90) / 1000.0,
+                    latency.percentile(99) / 1000.0, latency.getMax() / 1000.0));
+        }
+        return report.toString();
+    }
+}
@@ -1,23 +1,27 @@
 package com.example;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 /**
  * Comprehensive Test Suite for AutomationPractice Page
  * URL: https://rahulshettyacademy.com/AutomationPractice/
+ * (or the local snapshot with -Dsite=local, see TestSite)
  * 
  * This class demonstrates testing of various web elements:
  * 1. Radio Buttons
@@ -31,31 +35,94 @@ import org.testng.Assert;
  * 9. iFrames
  * 10. Window Handling (New Tab/Window)
  * 11. Web Table Sorting
+ *
+ * Progress is reported as structured events through {@link EventLog}
+ * (JSON lines by default, -Devent.log.format=text for a readable console).
+ *
+ * After the page opens, {@link PageHealth} checks it once; components whose
+ * elements are missing (or all of them, if the page did not load) are
+ * skipped immediately and their reasons kept in getSkipped().
  */
 public class AutomationPracticeTestSuite {
     
+    /** Independent component checks, in the order runAllTests() runs them */
+    public static final List<String> COMPONENTS = List.of(
+            "testRadioButtons",
+            "testCheckboxes",
+            "testStaticDropdown",
+            "testAutoSuggestDropdown",
+            "testHideShowElements",
+            "testAlerts",
+            "testWebTable",
+            "testMouseHover",
+            "testIFrame",
+            "testWindowHandling");
+    
+    private WebDriver session;
     private WebDriver driver;
-    private WebDriverWait wait;
     private Actions actions;
     private JavascriptExecutor js;
+    private ConditionWait waits;
+    private WaitPolicy lookups;
+    private ElementCache elements;
+    private final EventLog log = EventLog.shared();
+    private final Map<String, Exception> failures = new LinkedHashMap<>();
+    private final Map<String, String> skipped = new LinkedHashMap<>();
+    private PageHealth.Report health;
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--parallel")) {
+            ParallelSuiteRunner.main(args);
+            return;
+        }
         AutomationPracticeTestSuite testSuite = new AutomationPracticeTestSuite();
         testSuite.runAllTests();
     }
     
     public void setUp() {
-        driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        open(DriverPool.shared().lease());
+    }
+    
+    /**
+     * Bind this suite to an already started session, open the practice page
+     * and run the health gate on it. Used by setUp() and by
+     * ParallelSuiteRunner, which gives every component its own pooled
+     * session. Commands go through a {@link CommandTimings} decorator so
+     * their latency is recorded per component.
+     */
+    public void open(WebDriver session) {
+        this.session = session;
+        driver = CommandTimings.shared().decorate(session);
+        String previous = CommandTimings.tag("open");
+        try {
+            navigate();
+            checkHealth();
+        } finally {
+            CommandTimings.tag(previous);
+        }
+    }
+    
+    private void checkHealth() {
+        health = PageHealth.check(driver);
+        log.info("page.health", "readyState", health.readyState(), "elapsedMs", health.elapsedMs());
+        if (!health.isHealthy()) {
+            log.warn("page.unhealthy", "unavailable", String.join(", ", health.skipReasons().keySet()));
+        }
+    }
+    
+    private void navigate() {
+        // No implicit wait: every lookup that may need to wait says so through WaitPolicy
         actions = new Actions(driver);
         js = (JavascriptExecutor) driver;
+        waits = new ConditionWait(driver, Duration.ofSeconds(15));
+        lookups = new WaitPolicy(driver, waits);
         
         // Navigate to the practice page
-        driver.get("https://rahulshettyacademy.com/AutomationPractice/");
-        System.out.println("🌐 Navigated to AutomationPractice page");
-        System.out.println("📄 Page Title: " + driver.getTitle());
+        String pageUrl = TestSite.automationPractice();
+        driver.get(pageUrl);
+        elements = new ElementCache(driver);
+        elements.onPage(pageUrl);
+        log.info("page.opened", "url", pageUrl, "title", driver.getTitle());
     }
     
     public void runAllTests() {
@@ -63,55 +130,122 @@ public class AutomationPracticeTestSuite {
         
         try {
             // Test all components
-            testRadioButtons();
-            testCheckboxes();
-            testStaticDropdown();
-            testAutoSuggestDropdown();
-            testHideShowElements();
-            testAlerts();
-            testWebTable();
-            testMouseHover();
-            testIFrame();
-            testWindowHandling();
-            
-            System.out.println("\n🎉 All tests completed successfully!");
+            for (String component : COMPONENTS) {
+                runComponent(component);
+            }
+            
+            log.info("suite.completed", "failures", failures.size());
+            if (!skipped.isEmpty()) {
+                log.warn("suite.skipped", "components", String.join(", ", skipped.keySet()));
+            }
+            log.info("report.waits", "summary", waits.report());
+            log.info("report.lookups", "summary", lookups.report());
+            log.info("report.typeahead", "summary", AutoSuggest.report());
+            log.info("report.elements", "summary", elements.report());
+            log.info("report.commands", "summary", CommandTimings.shared().report());
             
         } catch (Exception e) {
-            System.err.println("❌ Test failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("suite.failed", "error", String.valueOf(e));
         } finally {
             tearDown();
         }
     }
     
+    /**
+     * Run a single component check by its method name (see COMPONENTS),
+     * tagging its WebDriver commands with that name
+     */
+    public void runComponent(String component) {
+        String reason = health == null ? null : health.skipReason(component);
+        if (reason != null) {
+            skipped.put(component, reason);
+            log.warn("component.skipped", "component", component, "reason", reason);
+            return;
+        }
+        String previous = CommandTimings.tag(component);
+        try {
+            dispatch(component);
+        } finally {
+            CommandTimings.tag(previous);
+        }
+    }
+    
+    private void dispatch(String component) {
+        switch (component) {
+            case "testRadioButtons" -> testRadioButtons();
+            case "testCheckboxes" -> testCheckboxes();
+            case "testStaticDropdown" -> testStaticDropdown();
+            case "testAutoSuggestDropdown" -> testAutoSuggestDropdown();
+            case "testHideShowElements" -> testHideShowElements();
+            case "testAlerts" -> testAlerts();
+            case "testWebTable" -> testWebTable();
+            case "testMouseHover" -> testMouseHover();
+            case "testIFrame" -> testIFrame();
+            case "testWindowHandling" -> testWindowHandling();
+            default -> throw new IllegalArgumentException("Unknown component: " + component);
+        }
+    }
+    
+    private void recordFailure(String component, Exception e) {
+        log.error("component.failed", "component", component, "error", String.valueOf(e.getMessage()));
+        failures.put(component, e);
+    }
+    
+    /** Failures caught inside component checks, keyed by component name */
+    public Map<String, Exception> getFailures() {
+        return failures;
+    }
+    
+    /** Components the health gate skipped, with the reason, keyed by component name */
+    public Map<String, String> getSkipped() {
+        return skipped;
+    }
+    
+    public PageHealth.Report getHealth() {
+        return health;
+    }
+    
+    public ConditionWait getWaits() {
+        return waits;
+    }
+    
+    public WaitPolicy getLookups() {
+        return lookups;
+    }
+    
     /**
      * Test Radio Buttons
      * Learning: Radio buttons allow single selection from a group
      */
     public void testRadioButtons() {
-        System.out.println("\n🔘 Testing Radio Buttons");
+        log.info("component.start", "component", "testRadioButtons");
         
         try {
-            // Find all radio buttons
-            List<WebElement> radioButtons = driver.findElements(By.xpath("//input[@type='radio']"));
-            System.out.println("   Total radio buttons found: " + radioButtons.size());
-            
-            // Test each radio button
-            for (int i = 0; i < radioButtons.size(); i++) {
-                WebElement radio = radioButtons.get(i);
-                String value = radio.getAttribute("value");
+            // Find all radio buttons; their values come from one form snapshot
+            List<FormSnapshot.Input> radios = FormSnapshot.capture(driver).inputs("radio");
+            log.info("radio.found", "count", radios.size());
+            
+            // Test each radio button, located by value so it always matches its snapshot entry
+            String lastValue = null;
+            for (FormSnapshot.Input input : radios) {
+                lastValue = input.value();
+                WebElement radio = driver.findElement(
+                        By.cssSelector("input[type='radio'][value='" + lastValue + "']"));
                 
-                // Click the radio button
+                // Click the radio button and verify it took the selection
                 radio.click();
-                Thread.sleep(500);
-                
-                // Verify it's selected
-                Assert.assertTrue(radio.isSelected(), "Radio button " + value + " should be selected");
-                System.out.println("   ✅ Radio button '" + value + "' selected successfully");
+                Assert.assertTrue(radio.isSelected(), "Radio button " + lastValue + " should be selected");
+                log.info("radio.clicked", "value", lastValue);
+            }
+            
+            // Verify the whole group at once: clicking one radio cleared the others
+            if (lastValue != null) {
+                Assert.assertEquals(FormSnapshot.capture(driver).checkedValues("radio"), List.of(lastValue),
+                        "Only radio button " + lastValue + " should be selected");
             }
             
         } catch (Exception e) {
-            System.out.println("   ❌ Radio button test failed: " + e.getMessage());
+            recordFailure("testRadioButtons", e);
         }
     }
     
@@ -120,37 +254,30 @@ public class AutomationPracticeTestSuite {
      * Learning: Checkboxes allow multiple selections
      */
     public void testCheckboxes() {
-        System.out.println("\n☑️  Testing Checkboxes");
+        log.info("component.start", "component", "testCheckboxes");
         
         try {
             // Find all checkboxes
-            List<WebElement> checkboxes = driver.findElements(By.xpath("//input[@type='checkbox']"));
-            System.out.println("   Total checkboxes found: " + checkboxes.size());
+            List<WebElement> checkboxes = elements.getAll(By.xpath("//input[@type='checkbox']"));
+            List<FormSnapshot.Input> before = FormSnapshot.capture(driver).inputs("checkbox");
+            log.info("checkbox.found", "count", checkboxes.size());
             
-            // Test checking and unchecking each checkbox
+            // Check and uncheck every checkbox in one batched script, verifying each click as it runs
+            ActionBatch batch = new ActionBatch(driver);
             for (int i = 0; i < checkboxes.size(); i++) {
-                WebElement checkbox = checkboxes.get(i);
-                String id = checkbox.getAttribute("id");
-                
-                // Check the checkbox
-                if (!checkbox.isSelected()) {
-                    checkbox.click();
-                    Assert.assertTrue(checkbox.isSelected(), "Checkbox should be checked");
-                    System.out.println("   ✅ Checkbox '" + id + "' checked successfully");
-                }
-                
-                Thread.sleep(300);
-                
-                // Uncheck the checkbox
-                if (checkbox.isSelected()) {
-                    checkbox.click();
-                    Assert.assertFalse(checkbox.isSelected(), "Checkbox should be unchecked");
-                    System.out.println("   ✅ Checkbox '" + id + "' unchecked successfully");
+                if (!before.get(i).checked()) {
+                    batch.click(checkboxes.get(i)).expectChecked(true);
                 }
+                batch.click(checkboxes.get(i)).expectChecked(false);
+            }
+            ActionBatch.Result result = batch.flush();
+            Assert.assertTrue(result.passed(), "Checkbox clicks: " + result);
+            for (FormSnapshot.Input checkbox : before) {
+                log.info("checkbox.toggled", "id", checkbox.id());
             }
             
         } catch (Exception e) {
-            System.out.println("   ❌ Checkbox test failed: " + e.getMessage());
+            recordFailure("testCheckboxes", e);
         }
     }
     
@@ -159,78 +286,77 @@ public class AutomationPracticeTestSuite {
      * Learning: Static dropdowns have predefined options
      */
     public void testStaticDropdown() {
-        System.out.println("\n📋 Testing Static Dropdown");
+        log.info("component.start", "component", "testStaticDropdown");
         
         try {
             // Find the dropdown element
             WebElement dropdownElement = driver.findElement(By.id("dropdown-class-example"));
             Select dropdown = new Select(dropdownElement);
             
-            // Get all options
-            List<WebElement> options = dropdown.getOptions();
-            System.out.println("   Total dropdown options: " + options.size());
+            // Get all options (texts read locally from the snapshot)
+            FormSnapshot.SelectBox initial = selectState("dropdown-class-example");
+            log.info("dropdown.options", "count", initial.options().size());
             
             // Test selecting by index, value, and visible text
             dropdown.selectByIndex(1);
-            System.out.println("   ✅ Selected by index: " + dropdown.getFirstSelectedOption().getText());
+            log.info("dropdown.selected", "by", "index", "text", selectState("dropdown-class-example").firstSelectedText());
             
             dropdown.selectByValue("option2");
-            System.out.println("   ✅ Selected by value: " + dropdown.getFirstSelectedOption().getText());
+            log.info("dropdown.selected", "by", "value", "text", selectState("dropdown-class-example").firstSelectedText());
             
             dropdown.selectByVisibleText("Option3");
-            System.out.println("   ✅ Selected by visible text: " + dropdown.getFirstSelectedOption().getText());
+            FormSnapshot.SelectBox selected = selectState("dropdown-class-example");
+            Assert.assertEquals(selected.firstSelectedText(), "Option3", "Option3 should be selected");
+            log.info("dropdown.selected", "by", "visibleText", "text", selected.firstSelectedText());
             
-            // Print all options
-            System.out.println("   Available options:");
-            for (WebElement option : options) {
-                System.out.println("     - " + option.getText());
+            // Log all options
+            for (String option : initial.optionTexts()) {
+                log.info("dropdown.option", "text", option);
             }
             
         } catch (Exception e) {
-            System.out.println("   ❌ Static dropdown test failed: " + e.getMessage());
+            recordFailure("testStaticDropdown", e);
         }
     }
     
+    private FormSnapshot.SelectBox selectState(String id) {
+        return FormSnapshot.capture(driver).select(id)
+                .orElseThrow(() -> new NoSuchElementException("No select " + id));
+    }
+    
     /**
      * Test Auto-Suggest Dropdown
      * Learning: Dynamic dropdowns load options based on user input
      */
     public void testAutoSuggestDropdown() {
-        System.out.println("\n🔍 Testing Auto-Suggest Dropdown");
+        log.info("component.start", "component", "testAutoSuggestDropdown");
         
         try {
-            // Find the auto-suggest input
-            WebElement autoSuggestInput = driver.findElement(By.id("autocomplete"));
-            autoSuggestInput.clear();
-            autoSuggestInput.sendKeys("Ind");
-            
-            // Wait for suggestions to appear
-            Thread.sleep(2000);
-            
-            // Find suggestion list
-            List<WebElement> suggestions = driver.findElements(By.xpath("//ul[@id='ui-id-1']//li"));
-            System.out.println("   Auto-suggest options found: " + suggestions.size());
-            
-            // Print all suggestions
-            for (WebElement suggestion : suggestions) {
-                System.out.println("     - " + suggestion.getText());
+            // Type, wait for the list to render and pick "India" - the pick happens in the same script
+            AutoSuggest autoSuggest = new AutoSuggest(driver, By.id("autocomplete"));
+            AutoSuggest.Pick pick = autoSuggest.pick("Ind", "India", Duration.ofSeconds(2));
+            if (pick.options().isEmpty()) {
+                throw new NoSuchElementException("No suggestions for 'Ind'" + (pick.timedOut() ? " within 2 s" : ""));
             }
+            log.info("autosuggest.found", "count", pick.options().size());
             
-            // Select "India" if available
-            for (WebElement suggestion : suggestions) {
-                if (suggestion.getText().equals("India")) {
-                    suggestion.click();
-                    System.out.println("   ✅ Selected 'India' from auto-suggest");
-                    break;
-                }
+            // Log all suggestions
+            for (String suggestion : pick.options()) {
+                log.info("autosuggest.option", "text", suggestion);
+            }
+            if (pick.isPicked()) {
+                log.info("autosuggest.picked", "text", pick.picked());
             }
             
             // Verify selection
-            String selectedValue = autoSuggestInput.getAttribute("value");
-            System.out.println("   Selected value: " + selectedValue);
+            log.info("autosuggest.value", "value", pick.value());
+            
+            // Picking a suggestion removes the list from the DOM; checked once, without waiting
+            log.info("autosuggest.closed", "closed", String.valueOf(lookups.isAbsent(By.xpath("//ul[@id='ui-id-1']//li"))));
+            elements.sync();
             
         } catch (Exception e) {
-            System.out.println("   ❌ Auto-suggest test failed: " + e.getMessage());
+            recordFailure("testAutoSuggestDropdown", e);
         }
     }
     
@@ -239,32 +365,30 @@ public class AutomationPracticeTestSuite {
      * Learning: Elements can be dynamically hidden or shown
      */
     public void testHideShowElements() {
-        System.out.println("\n👁️  Testing Hide/Show Elements");
+        log.info("component.start", "component", "testHideShowElements");
         
         try {
             // Find the textbox and buttons
-            WebElement textBox = driver.findElement(By.id("displayed-text"));
-            WebElement hideButton = driver.findElement(By.id("hide-textbox"));
-            WebElement showButton = driver.findElement(By.id("show-textbox"));
+            By textBox = By.id("displayed-text");
             
             // Verify element is initially visible
-            Assert.assertTrue(textBox.isDisplayed(), "Text box should be visible initially");
-            System.out.println("   ✅ Text box is initially visible");
+            Assert.assertTrue(elements.use(textBox, WebElement::isDisplayed), "Text box should be visible initially");
+            log.info("textbox.visible", "state", "initial");
             
             // Hide the element
-            hideButton.click();
-            Thread.sleep(1000);
-            Assert.assertFalse(textBox.isDisplayed(), "Text box should be hidden");
-            System.out.println("   ✅ Text box hidden successfully");
+            elements.get(By.id("hide-textbox")).click();
+            waits.until(ExpectedConditions.invisibilityOf(elements.get(textBox)), 1000);
+            Assert.assertFalse(elements.use(textBox, WebElement::isDisplayed), "Text box should be hidden");
+            log.info("textbox.hidden");
             
             // Show the element
-            showButton.click();
-            Thread.sleep(1000);
-            Assert.assertTrue(textBox.isDisplayed(), "Text box should be visible again");
-            System.out.println("   ✅ Text box shown successfully");
+            elements.get(By.id("show-textbox")).click();
+            waits.until(ExpectedConditions.visibilityOf(elements.get(textBox)), 1000);
+            Assert.assertTrue(elements.use(textBox, WebElement::isDisplayed), "Text box should be visible again");
+            log.info("textbox.visible", "state", "shown");
             
         } catch (Exception e) {
-            System.out.println("   ❌ Hide/Show test failed: " + e.getMessage());
+            recordFailure("testHideShowElements", e);
         }
     }
     
@@ -273,31 +397,29 @@ public class AutomationPracticeTestSuite {
      * Learning: Different types of alerts - simple, confirm, prompt
      */
     public void testAlerts() {
-        System.out.println("\n🚨 Testing JavaScript Alerts");
+        log.info("component.start", "component", "testAlerts");
         
         try {
             // Test Simple Alert
             WebElement alertButton = driver.findElement(By.id("alertbtn"));
             alertButton.click();
-            Thread.sleep(1000);
+            Alert alert = waits.until(ExpectedConditions.alertIsPresent(), 1000);
             
-            String alertText = driver.switchTo().alert().getText();
-            System.out.println("   Simple Alert text: " + alertText);
-            driver.switchTo().alert().accept();
-            System.out.println("   ✅ Simple alert handled");
+            String alertText = alert.getText();
+            alert.accept();
+            log.info("alert.accepted", "type", "simple", "text", alertText);
             
             // Test Confirm Alert
             WebElement confirmButton = driver.findElement(By.id("confirmbtn"));
             confirmButton.click();
-            Thread.sleep(1000);
+            Alert confirm = waits.until(ExpectedConditions.alertIsPresent(), 1000);
             
-            String confirmText = driver.switchTo().alert().getText();
-            System.out.println("   Confirm Alert text: " + confirmText);
-            driver.switchTo().alert().dismiss(); // Click Cancel
-            System.out.println("   ✅ Confirm alert dismissed");
+            String confirmText = confirm.getText();
+            confirm.dismiss(); // Click Cancel
+            log.info("alert.dismissed", "type", "confirm", "text", confirmText);
             
         } catch (Exception e) {
-            System.out.println("   ❌ Alert test failed: " + e.getMessage());
+            recordFailure("testAlerts", e);
         }
     }
     
@@ -306,46 +428,25 @@ public class AutomationPracticeTestSuite {
      * Learning: How to interact with HTML tables
      */
     public void testWebTable() {
-        System.out.println("\n📊 Testing Web Table");
+        log.info("component.start", "component", "testWebTable");
         
         try {
-            // Find the table
-            WebElement table = driver.findElement(By.xpath("//table[@name='courses']"));
-            
-            // Get all rows
-            List<WebElement> rows = table.findElements(By.tagName("tr"));
-            System.out.println("   Total rows in table: " + rows.size());
-            
-            // Get headers
-            List<WebElement> headers = rows.get(0).findElements(By.tagName("th"));
-            System.out.print("   Table Headers: ");
-            for (WebElement header : headers) {
-                System.out.print(header.getText() + " | ");
-            }
-            System.out.println();
-            
-            // Print table data
-            System.out.println("   Table Data:");
-            for (int i = 1; i < rows.size(); i++) {
-                List<WebElement> cells = rows.get(i).findElements(By.tagName("td"));
-                System.out.print("   Row " + i + ": ");
-                for (WebElement cell : cells) {
-                    System.out.print(cell.getText() + " | ");
-                }
-                System.out.println();
+            // Capture the whole table in one script call instead of a round-trip per cell
+            TableGrid table = TableGrid.capture(driver, By.xpath("//table[@name='courses']"));
+            log.info("table.rows", "count", table.getRowCount() + 1);
+            
+            // Headers and table data
+            log.info("table.headers", "cells", String.join(" | ", table.getHeaders()));
+            for (int i = 0; i < table.getRowCount(); i++) {
+                log.info("table.row", "cells", String.join(" | ", table.getRows().get(i)), "row", i + 1);
             }
             
             // Search for specific data (e.g., find price of WebServices course)
-            for (int i = 1; i < rows.size(); i++) {
-                List<WebElement> cells = rows.get(i).findElements(By.tagName("td"));
-                if (cells.size() > 0 && cells.get(0).getText().contains("WebServices")) {
-                    System.out.println("   ✅ Found WebServices course, Price: " + cells.get(1).getText());
-                    break;
-                }
-            }
+            table.lookup("Course", "WebServices", "Price")
+                    .ifPresent(price -> log.info("table.lookup", "course", "WebServices", "price", price));
             
         } catch (Exception e) {
-            System.out.println("   ❌ Web table test failed: " + e.getMessage());
+            recordFailure("testWebTable", e);
         }
     }
     
@@ -354,7 +455,7 @@ public class AutomationPracticeTestSuite {
      * Learning: How to perform mouse hover actions
      */
     public void testMouseHover() {
-        System.out.println("\n🖱️  Testing Mouse Hover");
+        log.info("component.start", "component", "testMouseHover");
         
         try {
             // Find the hover button
@@ -362,26 +463,25 @@ public class AutomationPracticeTestSuite {
             
             // Scroll to element if needed
             js.executeScript("arguments[0].scrollIntoView(true);", hoverButton);
-            Thread.sleep(1000);
+            waits.until(ExpectedConditions.visibilityOf(hoverButton), 1000);
             
             // Perform hover action
             actions.moveToElement(hoverButton).perform();
-            Thread.sleep(1000);
+            waits.until(ExpectedConditions.visibilityOfElementLocated(By.linkText("Top")), 1000);
             
             // Find and click on hover options
             WebElement topLink = driver.findElement(By.linkText("Top"));
             WebElement reloadLink = driver.findElement(By.linkText("Reload"));
             
-            System.out.println("   ✅ Mouse hover performed successfully");
-            System.out.println("   Available hover options: Top, Reload");
+            log.info("hover.menu", "options", "Top, Reload");
             
             // Click on Top link
             topLink.click();
-            Thread.sleep(1000);
-            System.out.println("   ✅ Clicked 'Top' link from hover menu");
+            waits.until(d -> ((Number) js.executeScript("return window.pageYOffset;")).doubleValue() < 1, 1000);
+            log.info("hover.clicked", "link", "Top");
             
         } catch (Exception e) {
-            System.out.println("   ❌ Mouse hover test failed: " + e.getMessage());
+            recordFailure("testMouseHover", e);
         }
     }
     
@@ -390,38 +490,44 @@ public class AutomationPracticeTestSuite {
      * Learning: How to switch between frames
      */
     public void testIFrame() {
-        System.out.println("\n🖼️  Testing iFrame");
+        log.info("component.start", "component", "testIFrame");
         
         try {
             // Scroll to iframe
             WebElement iframe = driver.findElement(By.id("courses-iframe"));
             js.executeScript("arguments[0].scrollIntoView(true);", iframe);
-            Thread.sleep(1000);
             
-            // Switch to iframe
-            driver.switchTo().frame(iframe);
-            System.out.println("   ✅ Switched to iframe");
+            // Switch to iframe as soon as it is available
+            waits.until(ExpectedConditions.frameToBeAvailableAndSwitchToIt(iframe), 1000);
+            elements.onFrame("courses-iframe");
+            log.info("frame.entered", "id", "courses-iframe");
             
             // Interact with elements inside iframe
-            List<WebElement> links = driver.findElements(By.tagName("a"));
-            System.out.println("   Links found in iframe: " + links.size());
+            List<WebElement> links = lookups.findAll(By.tagName("a"), Duration.ofSeconds(2));
+            log.info("frame.links", "count", links.size());
             
             // Try to find and click a course link
             try {
-                WebElement courseLink = driver.findElement(By.linkText("Courses"));
+                WebElement courseLink = lookups.find(By.linkText("Courses"), Duration.ofSeconds(1));
                 courseLink.click();
-                System.out.println("   ✅ Clicked 'Courses' link in iframe");
-                Thread.sleep(2000);
+                log.info("frame.clicked", "link", "Courses");
+                try {
+                    waits.until(ExpectedConditions.stalenessOf(courseLink), 2000);
+                } catch (TimeoutException e) {
+                    // The link was there and clicked, the frame just did not navigate away in time
+                    log.warn("frame.navigation.timeout", "link", "Courses");
+                }
             } catch (Exception e) {
-                System.out.println("   ⚠️  'Courses' link not found in iframe");
+                log.warn("frame.link.missing", "link", "Courses");
             }
             
             // Switch back to main frame
             driver.switchTo().defaultContent();
-            System.out.println("   ✅ Switched back to main frame");
+            elements.onDefaultContent();
+            log.info("frame.left");
             
         } catch (Exception e) {
-            System.out.println("   ❌ iFrame test failed: " + e.getMessage());
+            recordFailure("testIFrame", e);
         }
     }
     
@@ -430,55 +536,53 @@ public class AutomationPracticeTestSuite {
      * Learning: How to handle multiple browser windows/tabs
      */
     public void testWindowHandling() {
-        System.out.println("\n🪟 Testing Window Handling");
+        log.info("component.start", "component", "testWindowHandling");
         
         try {
             // Store the original window handle
             String originalWindow = driver.getWindowHandle();
-            System.out.println("   Original window handle: " + originalWindow);
+            log.info("window.original", "handle", originalWindow);
             
             // Find and click the "Open Tab" button
             WebElement openTabButton = driver.findElement(By.id("opentab"));
             openTabButton.click();
-            Thread.sleep(2000);
+            waits.until(ExpectedConditions.numberOfWindowsToBe(2), 2000);
             
             // Get all window handles
             Set<String> allWindows = driver.getWindowHandles();
-            System.out.println("   Total windows open: " + allWindows.size());
+            log.info("window.count", "count", allWindows.size());
             
             // Switch to the new window
             for (String windowHandle : allWindows) {
                 if (!windowHandle.equals(originalWindow)) {
                     driver.switchTo().window(windowHandle);
-                    System.out.println("   ✅ Switched to new tab");
-                    System.out.println("   New tab title: " + driver.getTitle());
-                    System.out.println("   New tab URL: " + driver.getCurrentUrl());
+                    log.info("window.switched", "kind", "tab", "title", driver.getTitle());
+                    log.info("window.url", "url", driver.getCurrentUrl());
                     
                     // Close the new tab
                     driver.close();
-                    System.out.println("   ✅ Closed new tab");
+                    log.info("window.closed", "kind", "tab");
                     break;
                 }
             }
             
             // Switch back to original window
             driver.switchTo().window(originalWindow);
-            System.out.println("   ✅ Switched back to original window");
+            log.info("window.restored", "handle", originalWindow);
             
             // Test "Open Window" button
             WebElement openWindowButton = driver.findElement(By.id("openwindow"));
             openWindowButton.click();
-            Thread.sleep(2000);
+            waits.until(ExpectedConditions.numberOfWindowsToBe(2), 2000);
             
             // Handle the new window
             allWindows = driver.getWindowHandles();
             for (String windowHandle : allWindows) {
                 if (!windowHandle.equals(originalWindow)) {
                     driver.switchTo().window(windowHandle);
-                    System.out.println("   ✅ Switched to new window");
-                    System.out.println("   New window title: " + driver.getTitle());
+                    log.info("window.switched", "kind", "window", "title", driver.getTitle());
                     driver.close();
-                    System.out.println("   ✅ Closed new window");
+                    log.info("window.closed", "kind", "window");
                     break;
                 }
             }
@@ -487,7 +591,7 @@ public class AutomationPracticeTestSuite {
             driver.switchTo().window(originalWindow);
             
         } catch (Exception e) {
-            System.out.println("   ❌ Window handling test failed: " + e.getMessage());
+            recordFailure("testWindowHandling", e);
         }
     }
     
@@ -496,25 +600,21 @@ public class AutomationPracticeTestSuite {
      * Learning: How to capture page source for debugging
      */
     public void getPageSource() {
-        System.out.println("\n📄 Getting Page Source");
-        
         try {
-            String pageSource = driver.getPageSource();
-            System.out.println("   Page source length: " + pageSource.length() + " characters");
-            
-            // You can save to file if needed
-            // Files.write(Paths.get("page_source.html"), pageSource.getBytes());
-            // System.out.println("   ✅ Page source saved to file");
-            
+            PageSnapshotStore.Snapshot snapshot = PageSnapshotStore.shared().save("suite", driver);
+            log.info(snapshot.duplicate() ? "page.source.duplicate" : "page.source.saved",
+                    "hash", snapshot.hash(), "length", snapshot.chars());
         } catch (Exception e) {
-            System.out.println("   ❌ Failed to get page source: " + e.getMessage());
+            log.error("page.source.failed", "error", String.valueOf(e.getMessage()));
         }
     }
     
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-            System.out.println("\n🔚 Browser closed");
+        if (session != null) {
+            DriverPool.shared().release(session);
+            session = null;
+            driver = null;
+            log.info("session.released");
         }
     }
 }
\ No newline at end of file
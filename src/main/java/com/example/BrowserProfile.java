@@ -0,0 +1,155 @@
+package com.example;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+/**
+ * Named browser launch profiles, from the full headed browser every entry
+ * point used to start down to a headless, resource-trimmed one.
+ *
+ * The profile is picked with the system property "browser.profile"
+ * (FULL, HEADLESS, LEAN or MINIMAL, default FULL), e.g.
+ * <pre>
+ * mvn exec:java -Dbrowser.profile=LEAN
+ * </pre>
+ * Run {@link BrowserProfileReport} to compare launch and first-paint times
+ * and pick the cheapest profile that still passes. With -Dasset.cache=true
+ * every launched browser also replays page assets from {@link AssetCache},
+ * and with -Dbrowser.bidi=true it opens a WebDriver BiDi connection.
+ */
+public enum BrowserProfile {
+
+    /** Headed and maximized with everything loaded (the original setup) */
+    FULL(false, false, null, PageLoadStrategy.NORMAL, false),
+
+    /** Same page as FULL, without a visible window */
+    HEADLESS(true, false, "1366,768", PageLoadStrategy.NORMAL, false),
+
+    /** Headless, no images, no GPU, eager load, trackers and web fonts blocked */
+    LEAN(true, true, "1280,800", PageLoadStrategy.EAGER, true),
+
+    /** LEAN in a small viewport with extensions and background work switched off */
+    MINIMAL(true, true, "800,600", PageLoadStrategy.EAGER, true);
+
+    /** URL patterns blocked by LEAN and MINIMAL; none of them are needed by the tests */
+    public static final List<String> BLOCKLIST = List.of(
+            "*google-analytics.com*",
+            "*googletagmanager.com*",
+            "*doubleclick.net*",
+            "*facebook.net*",
+            "*fonts.googleapis.com*",
+            "*fonts.gstatic.com*",
+            "*.woff",
+            "*.woff2",
+            "*.ttf");
+
+    private final boolean headless;
+    private final boolean trimmed;
+    private final String windowSize;
+    private final PageLoadStrategy pageLoadStrategy;
+    private final boolean blockNonEssential;
+
+    BrowserProfile(boolean headless, boolean trimmed, String windowSize,
+            PageLoadStrategy pageLoadStrategy, boolean blockNonEssential) {
+        this.headless = headless;
+        this.trimmed = trimmed;
+        this.windowSize = windowSize;
+        this.pageLoadStrategy = pageLoadStrategy;
+        this.blockNonEssential = blockNonEssential;
+    }
+
+    /** Profile selected with -Dbrowser.profile, FULL when not set */
+    public static BrowserProfile current() {
+        return forName(System.getProperty("browser.profile", FULL.name()));
+    }
+
+    /** Profile by name, ignoring case and surrounding blanks */
+    public static BrowserProfile forName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            String valid = Arrays.stream(values()).map(Enum::name).collect(Collectors.joining(", "));
+            throw new IllegalArgumentException("Unknown browser.profile '" + name + "', expected one of " + valid, e);
+        }
+    }
+
+    /** Whether launch() blocks the {@link #BLOCKLIST} URLs (local Chrome only) */
+    public boolean blocksNonEssential() {
+        return blockNonEssential;
+    }
+
+    public ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        options.setPageLoadStrategy(pageLoadStrategy);
+        if (headless) {
+            options.addArguments("--headless=new");
+        }
+        if (windowSize != null) {
+            options.addArguments("--window-size=" + windowSize);
+        }
+        if (trimmed) {
+            options.addArguments(
+                    "--blink-settings=imagesEnabled=false",
+                    "--disable-gpu",
+                    "--disable-gpu-compositing",
+                    "--disable-remote-fonts");
+        }
+        if (Boolean.getBoolean("browser.bidi")) {
+            // WebDriver BiDi connection for event-driven waits (see EventWait)
+            options.enableBiDi();
+        }
+        if (this == MINIMAL) {
+            options.addArguments(
+                    "--disable-extensions",
+                    "--disable-background-networking",
+                    "--disable-component-update",
+                    "--disable-default-apps",
+                    "--mute-audio");
+        }
+        return options;
+    }
+
+    /**
+     * Start a browser with this profile. With -Dselenium.remote.url the
+     * session is created on that Grid or standalone server instead; request
+     * blocking and the asset cache need CDP on a local driver and are
+     * skipped there.
+     */
+    public WebDriver launch() {
+        String remoteUrl = System.getProperty("selenium.remote.url");
+        if (remoteUrl != null) {
+            try {
+                WebDriver remote = new RemoteWebDriver(URI.create(remoteUrl).toURL(), options());
+                if (windowSize == null) {
+                    remote.manage().window().maximize();
+                }
+                return remote;
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("Invalid selenium.remote.url " + remoteUrl, e);
+            }
+        }
+        ChromeDriver driver = new ChromeDriver(options());
+        if (windowSize == null) {
+            driver.manage().window().maximize();
+        }
+        if (blockNonEssential) {
+            driver.executeCdpCommand("Network.enable", Map.of());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKLIST));
+        }
+        if (AssetCache.isEnabled()) {
+            AssetCache.shared().attach(driver);
+        }
+        return driver;
+    }
+}
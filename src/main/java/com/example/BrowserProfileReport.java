@@ -0,0 +1,75 @@
+package com.example;
+
+import java.time.Duration;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Launches every BrowserProfile against the practice page and reports
+ * browser launch time, navigation time and first contentful paint, plus
+ * whether a basic smoke check still passes with that profile.
+ *
+ * <pre>
+ * mvn exec:java -Dexec.mainClass=com.example.BrowserProfileReport
+ * </pre>
+ */
+public class BrowserProfileReport {
+
+    // First contentful paint (or first paint) relative to navigation start
+    private static final String FIRST_PAINT_SCRIPT =
+            "var entries = performance.getEntriesByType('paint');"
+            + "for (var i = 0; i < entries.length; i++) {"
+            + "  if (entries[i].name === 'first-contentful-paint') { return entries[i].startTime; }"
+            + "}"
+            + "return entries.length > 0 ? entries[0].startTime : -1;";
+
+    public static void main(String[] args) {
+        String url = TestSite.automationPractice();
+        System.out.println("📊 Browser profile comparison for " + url);
+        System.out.println(String.format("   %-9s %10s %10s %12s  %s", "Profile", "Launch ms", "Load ms", "First paint", "Smoke"));
+
+        for (BrowserProfile profile : BrowserProfile.values()) {
+            WebDriver driver = null;
+            try {
+                long start = System.nanoTime();
+                driver = profile.launch();
+                long launchMs = (System.nanoTime() - start) / 1_000_000;
+
+                start = System.nanoTime();
+                driver.get(url);
+                long loadMs = (System.nanoTime() - start) / 1_000_000;
+
+                Number firstPaint = (Number) ((JavascriptExecutor) driver).executeScript(FIRST_PAINT_SCRIPT);
+                String paint = firstPaint.doubleValue() < 0 ? "n/a" : String.format("%.0f ms", firstPaint.doubleValue());
+
+                boolean passed = smokeCheck(driver);
+                System.out.println(String.format("   %-9s %10d %10d %12s  %s",
+                        profile, launchMs, loadMs, paint, passed ? "✅" : "❌"));
+            } catch (Exception e) {
+                System.out.println(String.format("   %-9s failed: %s", profile, e.getMessage()));
+            } finally {
+                if (driver != null) {
+                    driver.quit();
+                }
+            }
+        }
+    }
+
+    /** The elements the suite depends on are present and the table is readable */
+    private static boolean smokeCheck(WebDriver driver) {
+        try {
+            new WebDriverWait(driver, Duration.ofSeconds(10))
+                    .until(ExpectedConditions.presenceOfElementLocated(By.xpath("//table[@name='courses']")));
+            TableGrid courses = TableGrid.capture(driver, By.xpath("//table[@name='courses']"));
+            return courses.getRowCount() > 0
+                    && !driver.findElements(By.id("autocomplete")).isEmpty()
+                    && !driver.findElements(By.id("courses-iframe")).isEmpty();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
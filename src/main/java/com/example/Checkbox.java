@@ -1,38 +1,27 @@
 package com.example;
 
 import java.time.Duration;
-import java.util.NoSuchElementException;
-import java.util.function.Function;
 
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.FluentWait;
-import org.openqa.selenium.support.ui.Wait;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
 public class Checkbox {
-    public static void main(String[] args) throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
-        // WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        driver.manage().window().maximize();
-        driver.get("https://rahulshettyacademy.com/dropdownsPractise/");
-        Thread.sleep(2000);
+    public static void main(String[] args) {
+        WebDriver driver = BrowserProfile.current().launch();
+        // driver.get() returns once the page has loaded, no sleep needed
+        driver.get(TestSite.dropdownsPractise());
         driver.findElement(By.xpath("//label[contains(@for,'SeniorCitizen')]")).click();
-        Thread.sleep(2000);
-        Wait<WebDriver> wait = new FluentWait<WebDriver>(driver).withTimeout(Duration.ofSeconds(30))
-                .pollingEvery(Duration.ofSeconds(3)).ignoring(NoSuchElementException.class);
 
-        WebElement fooElement = wait.until(new Function<WebDriver, WebElement>() {
-            public WebElement apply(WebDriver driver) {
-                if (driver.findElement(By.xpath("//input[contains(@id,'SeniorCitizen')]")).isDisplayed()) {
-                    return driver.findElement(By.xpath("//input[contains(@id,'SeniorCitizen')]"));
-                }
-                return null;
-            }
-        });
-
-        driver.quit();
+        // Instead of a FluentWait polling every 3 s (two findElement calls per poll), the browser
+        // reports the DOM change that makes the checkbox visible; polls only if it cannot
+        try (EventWait events = EventWait.open(driver)) {
+            WebElement seniorCitizen = events.forElement(
+                    By.xpath("//input[contains(@id,'SeniorCitizen')]"), true, Duration.ofSeconds(30));
+            System.out.println("Senior citizen selected: " + seniorCitizen.isSelected());
+            System.out.println(events.report());
+        } finally {
+            driver.quit();
+        }
     }
 }
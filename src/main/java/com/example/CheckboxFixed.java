@@ -1,109 +1,94 @@
 package com.example;
 
-import java.time.Duration;
+import java.util.Optional;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.JavascriptExecutor;
 
 public class CheckboxFixed {
     public static void main(String[] args) throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverPool.shared().lease();
         
         try {
-            driver.manage().window().maximize();
-            driver.get("https://rahulshettyacademy.com/dropdownsPractise/");
+            driver.get(TestSite.dropdownsPractise());
             
             // Wait for page to load
             Thread.sleep(3000);
             
-            // Method 1: Try clicking the label (most common solution for custom checkboxes)
-            boolean clicked = false;
-            try {
-                WebElement label = driver.findElement(By.xpath("//label[contains(@for,'SeniorCitizen')]"));
-                System.out.println("Label found - Displayed: " + label.isDisplayed());
-                if (label.isDisplayed()) {
-                    label.click();
-                    System.out.println("✅ Successfully clicked label");
-                    clicked = true;
-                }
-            } catch (Exception e) {
-                System.out.println("❌ Label approach failed: " + e.getMessage());
-            }
-            
-            // Method 2: JavaScript click on checkbox (if label didn't work)
-            if (!clicked) {
-                try {
-                    WebElement checkbox = driver.findElement(By.xpath("//input[contains(@id,'SeniorCitizen')]"));
-                    JavascriptExecutor js = (JavascriptExecutor) driver;
-                    
-                    // Check current state
-                    boolean isCheckedBefore = (Boolean) js.executeScript("return arguments[0].checked;", checkbox);
-                    System.out.println("Checkbox state before: " + isCheckedBefore);
-                    
-                    // Force click using JavaScript
-                    js.executeScript("arguments[0].click();", checkbox);
-                    
-                    // Check state after
-                    Thread.sleep(500);
-                    boolean isCheckedAfter = (Boolean) js.executeScript("return arguments[0].checked;", checkbox);
-                    System.out.println("Checkbox state after: " + isCheckedAfter);
-                    
-                    if (isCheckedBefore != isCheckedAfter) {
-                        System.out.println("✅ Successfully toggled checkbox using JavaScript");
-                        clicked = true;
-                    } else {
-                        System.out.println("❌ JavaScript click didn't change checkbox state");
-                    }
-                } catch (Exception e) {
-                    System.out.println("❌ JavaScript approach failed: " + e.getMessage());
-                }
-            }
+            // The label (most common solution for custom checkboxes), the input itself and
+            // alternative selectors, in that order. The chain tries last run's winner first
+            // and evaluates the rest in one batched script call if it misses or its click
+            // does not change the checkbox.
+            LocatorChain seniorCitizen = new LocatorChain("seniorCitizenCheckbox",
+                    LocatorChain.xpath("//label[contains(@for,'SeniorCitizen')]"),
+                    LocatorChain.xpath("//input[contains(@id,'SeniorCitizen')]"),
+                    LocatorChain.xpath("//input[@type='checkbox' and contains(@id,'SeniorCitizen')]"),
+                    LocatorChain.xpath("//*[contains(@class,'senior') or contains(@class,'citizen')]"),
+                    LocatorChain.xpath("//span[contains(text(),'Senior Citizen')]/preceding-sibling::input"),
+                    LocatorChain.xpath("//div[contains(@class,'checkbox')]//input[contains(@id,'SeniorCitizen')]"));
             
-            // Method 3: Try alternative selectors if still not clicked
-            if (!clicked) {
-                String[] alternativeSelectors = {
-                    "//input[@type='checkbox' and contains(@id,'SeniorCitizen')]",
-                    "//*[contains(@class,'senior') or contains(@class,'citizen')]",
-                    "//span[contains(text(),'Senior Citizen')]/preceding-sibling::input",
-                    "//div[contains(@class,'checkbox')]//input[contains(@id,'SeniorCitizen')]"
-                };
-                
-                for (String selector : alternativeSelectors) {
-                    try {
-                        WebElement element = driver.findElement(By.xpath(selector));
-                        JavascriptExecutor js = (JavascriptExecutor) driver;
-                        js.executeScript("arguments[0].click();", element);
-                        System.out.println("✅ Successfully clicked using selector: " + selector);
-                        clicked = true;
-                        break;
-                    } catch (Exception e) {
-                        System.out.println("❌ Selector failed: " + selector);
-                    }
-                }
-            }
+            boolean clicked = toggle(driver, seniorCitizen,
+                    By.xpath("//input[@type='checkbox' and contains(@id,'SeniorCitizen')]"));
+            System.out.println(LocatorRanking.shared().report());
             
             if (!clicked) {
-                System.out.println("❌ All methods failed. The element might not be interactable.");
+                EventLog.shared().warn("checkbox.failed", "element", seniorCitizen.getName());
                 
                 // Debug: Print page source around checkbox
-                String pageSource = driver.getPageSource();
-                int index = pageSource.toLowerCase().indexOf("senior");
-                if (index != -1) {
-                    int start = Math.max(0, index - 200);
-                    int end = Math.min(pageSource.length(), index + 200);
+                PageSnapshotStore store = PageSnapshotStore.shared();
+                PageSnapshotStore.Snapshot snapshot = store.save("checkbox", driver);
+                store.around(snapshot, "senior", 200).ifPresent(match -> {
                     System.out.println("Page source around 'senior':");
-                    System.out.println(pageSource.substring(start, end));
-                }
+                    System.out.println(match.context());
+                });
             }
             
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
             Thread.sleep(2000);
-            driver.quit();
+            DriverPool.shared().release(driver);
+        }
+    }
+
+    /**
+     * Click what each candidate of the chain finds until the checkbox input
+     * actually flips: a visible element natively first, then through
+     * JavaScript (hidden custom checkbox inputs). Only the candidate whose
+     * click changed isSelected() is remembered as the winner.
+     */
+    static boolean toggle(WebDriver driver, LocatorChain target, By checkbox) {
+        EventLog log = EventLog.shared();
+        WebElement input;
+        try {
+            input = driver.findElement(checkbox);
+        } catch (NoSuchElementException e) {
+            log.warn("checkbox.missing", "locator", checkbox.toString());
+            return false;
+        }
+        Optional<WebElement> toggled = target.perform(driver, element -> {
+            boolean before = input.isSelected();
+            if (element.isDisplayed()) {
+                element.click();
+                if (input.isSelected() != before) {
+                    return true;
+                }
+            }
+            ((JavascriptExecutor) driver).executeScript("arguments[0].click();", element);
+            if (input.isSelected() != before) {
+                return true;
+            }
+            log.warn("checkbox.unchanged", "element", element.getTagName(), "checked", String.valueOf(before));
+            return false;
+        });
+        if (toggled.isEmpty()) {
+            return false;
         }
+        log.info("checkbox.toggled", "selector", target.getLastWinner().expression(),
+                "checked", String.valueOf(input.isSelected()));
+        return true;
     }
-}
\ No newline at end of file
+}
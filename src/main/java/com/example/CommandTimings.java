@@ -0,0 +1,198 @@
+package com.example;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+/**
+ * Times every WebDriver command (findElement, click, getText, executeScript,
+ * switchTo().frame, ...) issued through a decorated driver or any element,
+ * alert or target locator it hands out. Getters that only hand out a helper
+ * (manage(), switchTo(), navigate()) are not browser calls and not counted.
+ *
+ * Latencies go into one {@link LatencyHistogram} per command type, grouped
+ * by the test that is currently running on the thread:
+ *
+ * <pre>
+ * WebDriver timed = CommandTimings.shared().decorate(driver);
+ * String previous = CommandTimings.tag("testCheckboxes");
+ * try {
+ *     ... use timed ...
+ * } finally {
+ *     CommandTimings.tag(previous);
+ * }
+ * System.out.println(CommandTimings.shared().report());
+ * </pre>
+ *
+ * The report lists round-trips, p50/p99/max and failed calls per command so
+ * chatty tests and slow command types stand out.
+ */
+public class CommandTimings implements WebDriverListener {
+
+    public static final String UNTAGGED = "untagged";
+
+    private static final ThreadLocal<String> TAG = ThreadLocal.withInitial(() -> UNTAGGED);
+    // Start times of in-flight calls; a stack because calls can nest (e.g. waits)
+    private static final ThreadLocal<ArrayDeque<Long>> STARTED = ThreadLocal.withInitial(ArrayDeque::new);
+    // Round-trips of every instance, per calling thread, so listeners can attribute them to one test invocation
+    private static final ThreadLocal<long[]> THREAD_ROUND_TRIPS = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static CommandTimings shared;
+
+    /** Latencies and failures of one command type within one test */
+    public static final class CommandStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+    }
+
+    private final Map<String, Map<String, CommandStats>> stats = new ConcurrentHashMap<>();
+
+    public static synchronized CommandTimings shared() {
+        if (shared == null) {
+            shared = new CommandTimings();
+        }
+        return shared;
+    }
+
+    /**
+     * Tag commands issued by the current thread with a test name from now on.
+     * Returns the previous tag so callers can restore it.
+     */
+    public static String tag(String test) {
+        String previous = TAG.get();
+        TAG.set(test == null ? UNTAGGED : test);
+        return previous;
+    }
+
+    public static String currentTag() {
+        return TAG.get();
+    }
+
+    /**
+     * Commands the current thread has issued through any decorated driver.
+     * Unlike {@link #getRoundTrips(String)} this is not shared with other
+     * threads running under the same tag, e.g. parallel DataProvider rows.
+     */
+    public static long getCurrentThreadRoundTrips() {
+        return THREAD_ROUND_TRIPS.get()[0];
+    }
+
+    /** Wrap a driver so that it and everything it returns report to this instance */
+    public WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(this).decorate(driver);
+    }
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        STARTED.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method, false);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method, true);
+    }
+
+    private void finish(Object target, Method method, boolean failed) {
+        Long started = STARTED.get().poll();
+        if (started == null) {
+            return;
+        }
+        if (isLocal(method)) {
+            return;
+        }
+        CommandStats command = statsFor(TAG.get(), commandName(target, method));
+        command.latency.record((System.nanoTime() - started) / 1000);
+        THREAD_ROUND_TRIPS.get()[0]++;
+        if (failed) {
+            command.errors.increment();
+        }
+    }
+
+    /**
+     * manage(), switchTo(), navigate(), timeouts() and window() only hand out
+     * a helper object; the browser is not contacted until a method is called
+     * on that helper, so they are not round-trips. Setters such as
+     * Timeouts.implicitlyWait(...) return a helper too, but do contact it.
+     */
+    static boolean isLocal(Method method) {
+        return method.getParameterCount() == 0 && method.getReturnType().getEnclosingClass() == WebDriver.class;
+    }
+
+    /** Driver and element commands by method name, the rest qualified, e.g. TargetLocator.frame */
+    static String commandName(Object target, Method method) {
+        if (target instanceof WebDriver || target instanceof WebElement) {
+            return method.getName();
+        }
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private CommandStats statsFor(String test, String command) {
+        return stats.computeIfAbsent(test, t -> new ConcurrentHashMap<>())
+                .computeIfAbsent(command, c -> new CommandStats());
+    }
+
+    /** Stats per command for one test, or an empty map if it issued no commands */
+    public Map<String, CommandStats> getStats(String test) {
+        return stats.getOrDefault(test, Map.of());
+    }
+
+    /** Total round-trips of one test */
+    public long getRoundTrips(String test) {
+        long roundTrips = 0;
+        for (CommandStats command : getStats(test).values()) {
+            roundTrips += command.latency.getCount();
+        }
+        return roundTrips;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("WebDriver command latency (ms: p50 / p99 / max):");
+        for (Map.Entry<String, Map<String, CommandStats>> test : new TreeMap<>(stats).entrySet()) {
+            report.append(String.format("%n   %s: %d round-trips", test.getKey(), getRoundTrips(test.getKey())));
+
+            // Costliest commands first
+            List<Map.Entry<String, CommandStats>> commands = new ArrayList<>(test.getValue().entrySet());
+            commands.sort(Comparator.comparingLong(
+                    (Map.Entry<String, CommandStats> e) -> e.getValue().latency.getTotal()).reversed());
+            for (Map.Entry<String, CommandStats> e : commands) {
+                LatencyHistogram latency = e.getValue().latency;
+                report.append(String.format("%n      %-28s x%-5d %8.1f / %8.1f / %8.1f",
+                        e.getKey(), latency.getCount(), latency.percentile(50) / 1000.0,
+                        latency.percentile(99) / 1000.0, latency.getMax() / 1000.0));
+                if (e.getValue().getErrors() > 0) {
+                    report.append("  (").append(e.getValue().getErrors()).append(" failed)");
+                }
+            }
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * Adaptive condition wait used instead of fixed Thread.sleep pacing.
+ *
+ * Polls the real condition (DOM state, alert, window count...) and returns as
+ * soon as it holds. The first poll interval is derived from how long previous
+ * conditions took to settle on this page, then backs off exponentially, so a
+ * fast page is checked quickly and a slow page is not hammered with commands.
+ *
+ * Each wait also records the fixed sleep it replaced, which lets the suite
+ * report how much wall-clock time was saved.
+ */
+public class ConditionWait {
+
+    private static final long MIN_POLL_MS = 10;
+    private static final long MAX_POLL_MS = 500;
+    private static final double SMOOTHING = 0.3;
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final LongSupplier nanoClock;
+    private final Sleeper sleeper;
+
+    // Exponentially weighted average of how long conditions took to hold
+    private double settleEstimateMs = 100;
+
+    private int waits;
+    private long waitedMs;
+    private long replacedSleepMs;
+
+    public ConditionWait(WebDriver driver, Duration timeout) {
+        this(driver, timeout, System::nanoTime, Sleeper.SYSTEM_SLEEPER);
+    }
+
+    /** With a clock and sleeper of its own, so tests can run waits without real time passing */
+    ConditionWait(WebDriver driver, Duration timeout, LongSupplier nanoClock, Sleeper sleeper) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.nanoClock = nanoClock;
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Wait until the condition returns a non-null, non-false value.
+     *
+     * @param condition      the condition to poll, e.g. an ExpectedConditions factory
+     * @param replacedSleepMs the fixed sleep this wait replaces (0 if none)
+     * @return the value produced by the condition
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, long replacedSleepMs) {
+        return until(condition, timeout, replacedSleepMs);
+    }
+
+    /**
+     * Same as {@link #until(Function, long)} with a budget of its own instead
+     * of this wait's default timeout. A zero budget checks exactly once.
+     */
+    public <T> T until(Function<? super WebDriver, T> condition, Duration budget, long replacedSleepMs) {
+        long start = nanoClock.getAsLong();
+        long deadline = start + budget.toNanos();
+        long interval = initialInterval();
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(start, replacedSleepMs);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException | NoAlertPresentException e) {
+                // Condition not ready yet, keep polling
+            }
+
+            long remainingMs = (deadline - nanoClock.getAsLong()) / 1_000_000;
+            if (remainingMs <= 0) {
+                record(start, replacedSleepMs);
+                throw new TimeoutException("Condition not met within " + budget.toMillis() + " ms: " + condition);
+            }
+
+            try {
+                sleeper.sleep(Duration.ofMillis(Math.min(interval, remainingMs)));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TimeoutException("Interrupted while waiting for: " + condition, e);
+            }
+            interval = Math.min(interval * 2, MAX_POLL_MS);
+        }
+    }
+
+    private long initialInterval() {
+        // Poll a few times within the expected settle time before backing off
+        long interval = (long) (settleEstimateMs / 4);
+        return Math.max(MIN_POLL_MS, Math.min(interval, MAX_POLL_MS));
+    }
+
+    private void record(long startNanos, long replacedSleep) {
+        long elapsedMs = (nanoClock.getAsLong() - startNanos) / 1_000_000;
+        settleEstimateMs = SMOOTHING * elapsedMs + (1 - SMOOTHING) * settleEstimateMs;
+        waits++;
+        waitedMs += elapsedMs;
+        replacedSleepMs += replacedSleep;
+    }
+
+    public int getWaits() {
+        return waits;
+    }
+
+    public long getWaitedMs() {
+        return waitedMs;
+    }
+
+    public long getReplacedSleepMs() {
+        return replacedSleepMs;
+    }
+
+    /** Wall-clock time saved compared with the fixed sleeps (negative if slower). */
+    public long getSavedMs() {
+        return replacedSleepMs - waitedMs;
+    }
+
+    public String report() {
+        return "Waits: " + waits + ", waited " + waitedMs + " ms instead of " + replacedSleepMs
+                + " ms of fixed sleeps, saved " + getSavedMs() + " ms";
+    }
+}
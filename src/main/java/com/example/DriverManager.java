@@ -0,0 +1,75 @@
+package com.example;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One browser session per thread, for TestNG classes that run their methods
+ * in parallel (parallel="methods").
+ *
+ * Test classes must not keep a driver in an instance field once methods of
+ * the same instance run on several threads at once. Instead every thread
+ * leases its own session from {@link DriverPool#shared()} (or the pool
+ * given to usePool) the first time it
+ * asks for one and hands it back in @AfterMethod:
+ *
+ * <pre>
+ * &#64;BeforeMethod
+ * public void open() {
+ *     DriverManager.driver().get(TestSite.automationPractice());
+ * }
+ *
+ * &#64;AfterMethod(alwaysRun = true)
+ * public void close() {
+ *     DriverManager.release();
+ * }
+ * </pre>
+ *
+ * The session is decorated with {@link CommandTimings}, so Listeners can
+ * count each test's driver commands. Size the pool to the thread count
+ * (-Ddriver.pool.size) or threads will queue for sessions.
+ */
+public final class DriverManager {
+
+    private static final ThreadLocal<WebDriver> SESSION = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static volatile DriverPool pool;
+
+    private DriverManager() {
+    }
+
+    /** Lease from the given pool instead of the shared one; null goes back to the shared pool */
+    static void usePool(DriverPool sessions) {
+        pool = sessions;
+    }
+
+    private static DriverPool pool() {
+        DriverPool sessions = pool;
+        return sessions != null ? sessions : DriverPool.shared();
+    }
+
+    /** The current thread's driver, leased from the shared pool on first use */
+    public static WebDriver driver() {
+        WebDriver driver = DRIVER.get();
+        if (driver == null) {
+            WebDriver session = pool().lease();
+            SESSION.set(session);
+            driver = CommandTimings.shared().decorate(session);
+            DRIVER.set(driver);
+        }
+        return driver;
+    }
+
+    public static boolean hasDriver() {
+        return SESSION.get() != null;
+    }
+
+    /** Return the current thread's session to the pool; no-op if it has none */
+    public static void release() {
+        WebDriver session = SESSION.get();
+        SESSION.remove();
+        DRIVER.remove();
+        if (session != null) {
+            pool().release(session);
+        }
+    }
+}
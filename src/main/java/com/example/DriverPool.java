@@ -0,0 +1,334 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+/**
+ * Thread-safe pool of warm, reusable browser sessions.
+ *
+ * Browser startup is the biggest fixed cost of every test, so instead of
+ * launching a new browser and quitting it afterwards, callers lease a
+ * session and hand it back:
+ *
+ * <pre>
+ * WebDriver driver = DriverPool.shared().lease();
+ * try {
+ *     ...
+ * } finally {
+ *     DriverPool.shared().release(driver);
+ * }
+ * </pre>
+ *
+ * Sessions are reset on release (cookies, storage, extra windows, frame
+ * context) and health-checked before they are handed out again; a session
+ * that no longer responds is evicted and replaced with a fresh one. On
+ * Chromium the cookies of every origin are cleared over CDP, elsewhere only
+ * those WebDriver can see from the current page. localStorage and
+ * sessionStorage are cleared for the current origin only, so a test must not
+ * rely on other origins it visited starting out empty.
+ *
+ * Pool size comes from {@link #sizeShared(int)} if it was called before
+ * the first shared(), else from the system property "driver.pool.size"
+ * (default 1), and the number of sessions started up front from "driver.pool.prewarm"
+ * (default 0). Sessions are launched with {@link BrowserProfile#current()}.
+ */
+public class DriverPool {
+
+    private static final Duration DEFAULT_LEASE_TIMEOUT = Duration.ofMinutes(2);
+    // WebDriver's default, restored in case a lessee raised it (EventWait does for long observers)
+    private static final Duration SCRIPT_TIMEOUT = Duration.ofSeconds(30);
+
+    private static DriverPool shared;
+    private static int sharedSize;
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed;
+
+    // Lease-wait metrics
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger evictions = new AtomicInteger();
+    // Lease wait of every pool, per calling thread, so listeners can attribute it to a test
+    private static final ThreadLocal<long[]> THREAD_WAIT_NANOS = ThreadLocal.withInitial(() -> new long[1]);
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The process-wide pool used by the suites and example classes. Created on
+     * first use and closed by a shutdown hook.
+     */
+    public static synchronized DriverPool shared() {
+        if (shared == null) {
+            int size = sharedSize > 0 ? sharedSize : Integer.getInteger("driver.pool.size", 1);
+            BrowserProfile profile = BrowserProfile.current();
+            shared = new DriverPool(profile::launch, size);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "driver-pool-shutdown"));
+            shared.prewarm(Integer.getInteger("driver.pool.prewarm", 0));
+        }
+        return shared;
+    }
+
+    /**
+     * Size the shared pool before it is created. Fails once shared() has
+     * created it with another size, since a pool cannot grow or shrink
+     * while its sessions are out.
+     */
+    public static synchronized void sizeShared(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, was " + size);
+        }
+        if (shared != null && shared.maxSize != size) {
+            throw new IllegalStateException("Shared driver pool already created with " + shared.maxSize
+                    + " sessions, cannot resize it to " + size);
+        }
+        sharedSize = size;
+    }
+
+    /** Start sessions up front so the first leases do not pay browser startup. */
+    public DriverPool prewarm(int count) {
+        int target = Math.min(count, maxSize);
+        List<Thread> starters = new ArrayList<>();
+        while (created.get() < target) {
+            if (!reserveSlot()) {
+                break;
+            }
+            Thread starter = new Thread(() -> {
+                try {
+                    idle.add(factory.get());
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    EventLog.shared().warn("driver.pool.prewarm.failed", "error", String.valueOf(e.getMessage()));
+                }
+            }, "driver-pool-prewarm");
+            starter.start();
+            starters.add(starter);
+        }
+        for (Thread starter : starters) {
+            try {
+                starter.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return this;
+    }
+
+    public WebDriver lease() {
+        return lease(DEFAULT_LEASE_TIMEOUT);
+    }
+
+    /**
+     * Lease a healthy session, creating one if the pool has not reached its
+     * size yet, otherwise waiting for another caller to release one.
+     */
+    public WebDriver lease(Duration timeout) {
+        if (closed) {
+            throw new IllegalStateException("Driver pool is closed");
+        }
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+
+        while (true) {
+            WebDriver driver = idle.poll();
+            if (driver == null && reserveSlot()) {
+                try {
+                    driver = factory.get();
+                } catch (RuntimeException e) {
+                    created.decrementAndGet();
+                    throw e;
+                }
+            }
+            if (driver == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("Timed out after " + timeout.toMillis()
+                            + " ms waiting for a browser session (pool size " + maxSize + ")");
+                }
+                try {
+                    driver = idle.poll(remaining, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+                }
+                if (driver == null) {
+                    continue;
+                }
+            }
+
+            if (!isHealthy(driver)) {
+                evict(driver);
+                continue;
+            }
+
+            leased.add(driver);
+            recordWait(System.nanoTime() - start);
+            return driver;
+        }
+    }
+
+    /** Return a leased session to the pool after resetting its state. */
+    public void release(WebDriver driver) {
+        if (driver == null || !leased.remove(driver)) {
+            return;
+        }
+        if (closed) {
+            quietQuit(driver);
+            return;
+        }
+        try {
+            reset(driver);
+            idle.add(driver);
+        } catch (WebDriverException e) {
+            evict(driver);
+        }
+    }
+
+    /**
+     * Bring a session back to a clean state: one window, top-level frame,
+     * no cookies, empty web storage of the current origin, no implicit
+     * wait and the default script timeout.
+     */
+    private void reset(WebDriver driver) {
+        Set<String> handles = driver.getWindowHandles();
+        String keep = handles.iterator().next();
+        for (String handle : handles) {
+            if (!handle.equals(keep)) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+        }
+        driver.switchTo().window(keep);
+        driver.switchTo().defaultContent();
+        if (driver instanceof HasCdp cdp) {
+            // deleteAllCookies() only reaches the current domain
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(SCRIPT_TIMEOUT);
+        ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void evict(WebDriver driver) {
+        evictions.incrementAndGet();
+        created.decrementAndGet();
+        quietQuit(driver);
+    }
+
+    private boolean reserveSlot() {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void recordWait(long waitNanos) {
+        leases.incrementAndGet();
+        totalWaitNanos.addAndGet(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        THREAD_WAIT_NANOS.get()[0] += waitNanos;
+    }
+
+    /** Total time the current thread has spent waiting in lease() of any pool */
+    public static long getCurrentThreadWaitNanos() {
+        return THREAD_WAIT_NANOS.get()[0];
+    }
+
+    private static void quietQuit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // Session already gone
+        }
+    }
+
+    /** Quit every session, leased or idle. */
+    public void close() {
+        closed = true;
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            quietQuit(driver);
+        }
+        for (WebDriver active : leased) {
+            quietQuit(active);
+        }
+        leased.clear();
+    }
+
+    public int getSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getLeasedCount() {
+        return leased.size();
+    }
+
+    public long getLeaseCount() {
+        return leases.get();
+    }
+
+    public int getEvictionCount() {
+        return evictions.get();
+    }
+
+    public double getAverageWaitMs() {
+        long count = leases.get();
+        return count == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxWaitMs() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    public String report() {
+        return String.format("Pool size: %d, leases: %d, avg wait: %.1f ms, max wait: %.1f ms, evictions: %d",
+                maxSize, getLeaseCount(), getAverageWaitMs(), getMaxWaitMs(), getEvictionCount());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * How long each schedulable unit (a test class, or one suite component)
+ * took in earlier runs, persisted to a properties file between runs.
+ *
+ * Every recorded run is folded into an exponentially weighted average, so
+ * one slow outlier moves the estimate without taking it over. The file
+ * location comes from the system property "duration.history.file" (default
+ * test-durations.properties).
+ */
+public class DurationHistory {
+
+    // Weight of the newest run in the average
+    private static final double ALPHA = 0.3;
+
+    private static DurationHistory shared;
+
+    private final Path file;
+    private final Properties entries = new Properties();
+    private boolean dirty;
+
+    public DurationHistory(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                entries.load(reader);
+            } catch (IOException e) {
+                EventLog.shared().warn("durations.unreadable", "file", file.toString(), "error",
+                        String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    public static synchronized DurationHistory shared() {
+        if (shared == null) {
+            shared = new DurationHistory(Paths.get(System.getProperty("duration.history.file", "test-durations.properties")));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::save, "duration-history-save"));
+        }
+        return shared;
+    }
+
+    /** Average duration of a unit in ms, or -1 if it never ran */
+    public synchronized long averageMs(String unit) {
+        String value = entries.getProperty(unit + ".ms");
+        return value == null ? -1 : Math.round(Double.parseDouble(value));
+    }
+
+    public synchronized int runs(String unit) {
+        return Integer.parseInt(entries.getProperty(unit + ".runs", "0"));
+    }
+
+    public synchronized void record(String unit, long durationMs) {
+        String previous = entries.getProperty(unit + ".ms");
+        double average = previous == null ? durationMs
+                : ALPHA * durationMs + (1 - ALPHA) * Double.parseDouble(previous);
+        entries.setProperty(unit + ".ms", String.format(Locale.ROOT, "%.1f", average));
+        entries.setProperty(unit + ".runs", String.valueOf(runs(unit) + 1));
+        dirty = true;
+    }
+
+    /**
+     * Estimated duration per unit, in the given order. Units without history
+     * are estimated at the mean of the known ones (1 ms if none is known).
+     */
+    public synchronized Map<String, Long> estimates(List<String> units) {
+        long known = 0;
+        long total = 0;
+        for (String unit : units) {
+            long average = averageMs(unit);
+            if (average >= 0) {
+                known++;
+                total += average;
+            }
+        }
+        long fallback = known == 0 ? 1 : Math.max(1, total / known);
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        for (String unit : units) {
+            long average = averageMs(unit);
+            estimates.put(unit, average >= 0 ? average : fallback);
+        }
+        return estimates;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            entries.store(writer, "Average duration (ms) and run count per test class / suite component");
+            dirty = false;
+        } catch (IOException e) {
+            EventLog.shared().warn("durations.unsaved", "file", file.toString(), "error",
+                    String.valueOf(e.getMessage()));
+        }
+    }
+}
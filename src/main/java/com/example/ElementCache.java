@@ -0,0 +1,204 @@
+package com.example;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Cache of resolved WebElement references, keyed by page, frame and locator.
+ *
+ * A cache hit returns the element without a driver round-trip. Entries are
+ * dropped when they can no longer be trusted:
+ * - on StaleElementReferenceException, via {@link #use(By, Function)} which
+ *   evicts the entry, looks the element up again and retries once
+ * - when a MutationObserver injected into the page reports removed nodes or
+ *   the page itself was replaced, checked with {@link #sync()} (one script
+ *   call) at step boundaries such as after clicks that change the DOM
+ * - when the suite moves to another page ({@link #onPage(String)})
+ *
+ * Node removals drop every entry. Node additions only drop the lists cached
+ * by {@link #getAll(By)}, which would otherwise miss the new matches; single
+ * references stay valid. Attribute and style changes (hide/show, checked)
+ * keep everything.
+ *
+ * WebDriver does not say which frame it is switched to, so callers report
+ * it: {@link #onFrame(String)} after switchTo().frame(...) and
+ * {@link #onDefaultContent()} after switchTo().defaultContent(). Each frame
+ * has its own document, observer and entries.
+ */
+public class ElementCache {
+
+    // Installs the observer once per document and returns "token:removals:additions"
+    private static final String OBSERVER_SCRIPT =
+            "if (!window.__elementCacheToken) {"
+            + "  window.__elementCacheToken = Date.now() + '-' + Math.random();"
+            + "  window.__elementCacheRemovals = 0;"
+            + "  window.__elementCacheAdditions = 0;"
+            + "  new MutationObserver(function (mutations) {"
+            + "    var removed = false, added = false;"
+            + "    for (var i = 0; i < mutations.length; i++) {"
+            + "      removed = removed || mutations[i].removedNodes.length > 0;"
+            + "      added = added || mutations[i].addedNodes.length > 0;"
+            + "    }"
+            + "    if (removed) { window.__elementCacheRemovals++; }"
+            + "    if (added) { window.__elementCacheAdditions++; }"
+            + "  }).observe(document, {childList: true, subtree: true});"
+            + "}"
+            + "return window.__elementCacheToken + ':' + window.__elementCacheRemovals"
+            + "    + ':' + window.__elementCacheAdditions;";
+
+    private static final String TOP = "top";
+
+    private final WebDriver driver;
+    private final Map<String, WebElement> single = new HashMap<>();
+    private final Map<String, List<WebElement>> multiple = new HashMap<>();
+    // Last observer state per frame, each frame document runs its own observer
+    private final Map<String, String> domStates = new HashMap<>();
+    private String page = "";
+    private String frame = TOP;
+
+    private long hits;
+    private long misses;
+    private long staleRetries;
+    private long invalidations;
+    private long observerChecks;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /** Switch to a (new) page: clears entries and injects the mutation observer */
+    public void onPage(String pageKey) {
+        if (!pageKey.equals(page)) {
+            clear();
+            domStates.clear();
+            page = pageKey;
+        }
+        frame = TOP;
+        domStates.put(frame, readDomState());
+    }
+
+    /** The driver was switched into a frame; frameKey names it, e.g. its id */
+    public void onFrame(String frameKey) {
+        frame = frameKey;
+        domStates.putIfAbsent(frame, readDomState());
+    }
+
+    /** The driver was switched back to the top-level document */
+    public void onDefaultContent() {
+        frame = TOP;
+    }
+
+    /**
+     * Check the injected observer of the current frame. Drops every entry if
+     * nodes were removed or the document was replaced since the last check,
+     * and the getAll() lists if nodes were only added.
+     *
+     * @return true if the cache was invalidated
+     */
+    public boolean sync() {
+        String current = readDomState();
+        String previous = domStates.put(frame, current);
+        if (current.equals(previous)) {
+            return false;
+        }
+        if (previous == null || !current.startsWith(previous.substring(0, previous.lastIndexOf(':') + 1))) {
+            // Nodes removed or a new document: no reference can be trusted
+            if (!single.isEmpty() || !multiple.isEmpty()) {
+                invalidations++;
+                clear();
+            }
+        } else if (!multiple.isEmpty()) {
+            // Only additions: single references hold, lists may be missing matches
+            invalidations++;
+            multiple.clear();
+        }
+        return true;
+    }
+
+    private String readDomState() {
+        observerChecks++;
+        return String.valueOf(((JavascriptExecutor) driver).executeScript(OBSERVER_SCRIPT));
+    }
+
+    public WebElement get(By by) {
+        String key = key(by);
+        WebElement element = single.get(key);
+        if (element != null) {
+            hits++;
+            return element;
+        }
+        misses++;
+        element = driver.findElement(by);
+        single.put(key, element);
+        return element;
+    }
+
+    public List<WebElement> getAll(By by) {
+        String key = key(by);
+        List<WebElement> elements = multiple.get(key);
+        if (elements != null) {
+            hits++;
+            return elements;
+        }
+        misses++;
+        elements = driver.findElements(by);
+        multiple.put(key, elements);
+        return elements;
+    }
+
+    /**
+     * Run an action against a cached element; if the reference turned out to
+     * be stale, evict it, look it up again and retry once.
+     */
+    public <T> T use(By by, Function<WebElement, T> action) {
+        try {
+            return action.apply(get(by));
+        } catch (StaleElementReferenceException e) {
+            staleRetries++;
+            evict(by);
+            return action.apply(get(by));
+        }
+    }
+
+    public void evict(By by) {
+        String key = key(by);
+        single.remove(key);
+        multiple.remove(key);
+    }
+
+    private String key(By by) {
+        return page + "|" + frame + "|" + by;
+    }
+
+    public void clear() {
+        single.clear();
+        multiple.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /** Lookups avoided by hits, minus the script calls spent checking the observer */
+    public long getRoundTripsSaved() {
+        return hits - observerChecks;
+    }
+
+    public String report() {
+        return "Element cache: " + hits + " hits, " + misses + " misses, " + staleRetries
+                + " stale retries, " + invalidations + " DOM invalidations, "
+                + getRoundTripsSaved() + " round-trips saved";
+    }
+}
@@ -0,0 +1,338 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured event log for the suites.
+ *
+ * Test threads never format or write anything: an event is a name plus up
+ * to two key/value fields (text or number), copied into a slot of a
+ * preallocated ring buffer. One background thread turns the slots into
+ * output, so emitting an event allocates nothing and does not wait on the
+ * console. If the writer falls a full ring behind, producers spin until a
+ * slot frees up (counted as stalls) rather than dropping events. An idle
+ * writer parks until a producer publishes and unparks it, so a quiet log
+ * costs no CPU.
+ *
+ * <pre>
+ * EventLog log = EventLog.shared();
+ * log.info("radio.selected", "value", value);
+ * log.info("table.rows", "count", rows.size());
+ * log.error("component.failed", "component", name, "error", e.getMessage());
+ * </pre>
+ *
+ * Output is JSON lines by default, one object per event:
+ * {"ts":1700000000000,"level":"INFO","thread":"main","event":"radio.selected","value":"option1"}.
+ * Configure with -Devent.log.format=json|text, -Devent.log.file=path
+ * (default stdout) and -Devent.log.capacity (slots, rounded up to a power
+ * of two, default 8192).
+ */
+public class EventLog implements AutoCloseable {
+
+    public enum Level { INFO, WARN, ERROR }
+
+    public enum Format { JSON, TEXT }
+
+    // Upper bound on an idle park, in case an unpark is ever missed
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static final DateTimeFormatter TEXT_TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static EventLog shared;
+
+    /** One preallocated event; only the writer thread reads it after publication */
+    private static final class Slot {
+        long timestamp;
+        Level level;
+        String thread;
+        String event;
+        int fields;
+        final String[] keys = new String[2];
+        final String[] texts = new String[2];
+        final long[] numbers = new long[2];
+        final boolean[] numeric = new boolean[2];
+        // Sequence of the event stored here; written last, read first
+        volatile long published = -1;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private volatile boolean running = true;
+    // Set by the writer just before it parks; producers unpark it only then
+    private volatile boolean writerIdle;
+    private final AtomicLong stalls = new AtomicLong();
+
+    private final Writer out;
+    private final Format format;
+    private final Thread writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public EventLog(Writer out, int capacity, Format format) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.out = out;
+        this.format = format;
+        this.writer = new Thread(this::drain, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static synchronized EventLog shared() {
+        if (shared == null) {
+            Format format = Format.valueOf(System.getProperty("event.log.format", "json").toUpperCase());
+            int capacity = Integer.getInteger("event.log.capacity", 8192);
+            shared = new EventLog(openOutput(System.getProperty("event.log.file")), capacity, format);
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::close, "event-log-close"));
+        }
+        return shared;
+    }
+
+    private static Writer openOutput(String file) {
+        if (file != null && !file.isBlank() && !file.equals("-")) {
+            try {
+                Path path = Paths.get(file);
+                if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                System.out.println("⚠️  Could not open event log " + file + ", using stdout: " + e.getMessage());
+            }
+        }
+        return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+    }
+
+    public void info(String event) {
+        publish(Level.INFO, event, 0, null, null, 0, false, null, null, 0, false);
+    }
+
+    public void info(String event, String key, String value) {
+        publish(Level.INFO, event, 1, key, value, 0, false, null, null, 0, false);
+    }
+
+    public void info(String event, String key, long value) {
+        publish(Level.INFO, event, 1, key, null, value, true, null, null, 0, false);
+    }
+
+    public void info(String event, String key1, String value1, String key2, String value2) {
+        publish(Level.INFO, event, 2, key1, value1, 0, false, key2, value2, 0, false);
+    }
+
+    public void info(String event, String key1, String value1, String key2, long value2) {
+        publish(Level.INFO, event, 2, key1, value1, 0, false, key2, null, value2, true);
+    }
+
+    public void warn(String event, String key, String value) {
+        publish(Level.WARN, event, 1, key, value, 0, false, null, null, 0, false);
+    }
+
+    public void warn(String event, String key1, String value1, String key2, String value2) {
+        publish(Level.WARN, event, 2, key1, value1, 0, false, key2, value2, 0, false);
+    }
+
+    public void error(String event, String key, String value) {
+        publish(Level.ERROR, event, 1, key, value, 0, false, null, null, 0, false);
+    }
+
+    public void error(String event, String key1, String value1, String key2, String value2) {
+        publish(Level.ERROR, event, 2, key1, value1, 0, false, key2, value2, 0, false);
+    }
+
+    private void publish(Level level, String event, int fields,
+                         String key1, String text1, long number1, boolean numeric1,
+                         String key2, String text2, long number2, boolean numeric2) {
+        if (!running) {
+            return;
+        }
+        long sequence = claimed.getAndIncrement();
+        if (sequence - consumed >= slots.length) {
+            // Writer is a whole ring behind; wait for it instead of losing events
+            stalls.incrementAndGet();
+            while (sequence - consumed >= slots.length && writer.isAlive()) {
+                LockSupport.parkNanos(10_000);
+            }
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestamp = System.currentTimeMillis();
+        slot.level = level;
+        slot.thread = Thread.currentThread().getName();
+        slot.event = event;
+        slot.fields = fields;
+        slot.keys[0] = key1;
+        slot.texts[0] = text1;
+        slot.numbers[0] = number1;
+        slot.numeric[0] = numeric1;
+        slot.keys[1] = key2;
+        slot.texts[1] = text2;
+        slot.numbers[1] = number2;
+        slot.numeric[1] = numeric2;
+        slot.published = sequence;
+        if (writerIdle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    private void drain() {
+        long next = 0;
+        boolean unflushed = false;
+        while (running || next < claimed.get()) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                // Idle: push out what was written, then sleep until a producer publishes
+                if (unflushed) {
+                    flushOutput();
+                    unflushed = false;
+                    continue;
+                }
+                writerIdle = true;
+                // Re-check after announcing, so a publish in between is not slept through
+                if (slot.published != next && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                writerIdle = false;
+                continue;
+            }
+            write(slot);
+            unflushed = true;
+            // Drop references so logged strings can be collected
+            slot.texts[0] = null;
+            slot.texts[1] = null;
+            next++;
+            consumed = next;
+        }
+        flushOutput();
+    }
+
+    private void write(Slot slot) {
+        line.setLength(0);
+        if (format == Format.JSON) {
+            line.append("{\"ts\":").append(slot.timestamp)
+                    .append(",\"level\":\"").append(slot.level).append('"');
+            appendJsonField("thread", slot.thread);
+            appendJsonField("event", slot.event);
+            for (int i = 0; i < slot.fields; i++) {
+                if (slot.numeric[i]) {
+                    line.append(",\"");
+                    appendEscaped(slot.keys[i]);
+                    line.append("\":").append(slot.numbers[i]);
+                } else {
+                    appendJsonField(slot.keys[i], slot.texts[i]);
+                }
+            }
+            line.append('}');
+        } else {
+            TEXT_TIME.formatTo(Instant.ofEpochMilli(slot.timestamp), line);
+            line.append(' ').append(String.format("%-5s", slot.level))
+                    .append(" [").append(slot.thread).append("] ").append(slot.event);
+            for (int i = 0; i < slot.fields; i++) {
+                line.append(' ').append(slot.keys[i]).append('=');
+                if (slot.numeric[i]) {
+                    line.append(slot.numbers[i]);
+                } else {
+                    line.append(slot.texts[i]);
+                }
+            }
+        }
+        line.append(System.lineSeparator());
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            // Nowhere left to report it; keep draining so producers never block
+        }
+    }
+
+    private void appendJsonField(String key, String value) {
+        line.append(",\"");
+        appendEscaped(key);
+        line.append("\":");
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        appendEscaped(value);
+        line.append('"');
+    }
+
+    private void appendEscaped(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private void flushOutput() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // Same as write(): nothing sensible to do here
+        }
+    }
+
+    /** Block until every event emitted so far has been written out */
+    public void flush() {
+        long target = claimed.get();
+        while (consumed < target && writer.isAlive()) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+        }
+        flushOutput();
+    }
+
+    /** Events emitted so far */
+    public long getEventCount() {
+        return claimed.get();
+    }
+
+    /** Times a producer had to wait for the writer to free a slot */
+    public long getStalls() {
+        return stalls.get();
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
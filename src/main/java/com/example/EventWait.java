@@ -0,0 +1,367 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.bidi.HasBiDi;
+import org.openqa.selenium.bidi.module.BrowsingContextInspector;
+import org.openqa.selenium.bidi.module.LogInspector;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+
+/**
+ * Waits that finish when the browser reports the event, instead of polling
+ * for it.
+ *
+ * <ul>
+ * <li>Elements: a MutationObserver inside one executeAsyncScript call
+ * answers as soon as the DOM change happens. Works on every W3C driver.</li>
+ * <li>User prompts, console entries and network idle: WebDriver BiDi
+ * events (BrowsingContextInspector, LogInspector, Network), when the session
+ * was started with BiDi enabled (-Dbrowser.bidi=true, see BrowserProfile).</li>
+ * </ul>
+ *
+ * Without BiDi, or for locators the observer cannot evaluate, the same
+ * calls fall back to polling through {@link ConditionWait}.
+ *
+ * <pre>
+ * try (EventWait events = EventWait.open(driver)) {
+ *     WebElement box = events.forElement(By.id("SeniorCitizen"), true, Duration.ofSeconds(10));
+ *     Alert alert = events.forPrompt(Duration.ofSeconds(2));
+ * }
+ * </pre>
+ */
+public class EventWait implements AutoCloseable {
+
+    // Resolves with the first match (visible if asked) right away or on the DOM mutation that creates it
+    private static final String ELEMENT_SCRIPT =
+            "var using = arguments[0], value = arguments[1], visible = arguments[2], timeout = arguments[3],"
+            + "    done = arguments[arguments.length - 1];"
+            + "function find() {"
+            + "  var e = using === 'xpath'"
+            + "      ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue"
+            + "      : document.querySelector(value);"
+            + "  if (!e || !visible) { return e; }"
+            + "  var style = window.getComputedStyle(e);"
+            + "  return style.display !== 'none' && style.visibility !== 'hidden' && e.getClientRects().length > 0 ? e : null;"
+            + "}"
+            + "var found = find();"
+            + "if (found) { done(found); return; }"
+            + "var timer, observer = new MutationObserver(function () {"
+            + "  var e = find();"
+            + "  if (e) { observer.disconnect(); clearTimeout(timer); done(e); }"
+            + "});"
+            + "observer.observe(document, {childList: true, subtree: true, attributes: true});"
+            + "timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);";
+
+    // Polling fallback for console entries: keeps what console.* prints from now on
+    private static final String CONSOLE_HOOK_SCRIPT =
+            "if (!window.__eventWaitConsole) {"
+            + "  window.__eventWaitConsole = [];"
+            + "  ['log', 'info', 'warn', 'error', 'debug'].forEach(function (level) {"
+            + "    var original = console[level];"
+            + "    console[level] = function () {"
+            + "      window.__eventWaitConsole.push(Array.prototype.join.call(arguments, ' '));"
+            + "      return original.apply(console, arguments);"
+            + "    };"
+            + "  });"
+            + "}"
+            + "return window.__eventWaitConsole.slice(arguments[0]);";
+
+    private final WebDriver driver;
+    private final ConditionWait polling;
+    private boolean bidi;
+    private final Object monitor = new Object();
+
+    // Filled by BiDi event threads, guarded by monitor
+    private final List<String> prompts = new ArrayList<>();
+    private final List<String> consoleEntries = new ArrayList<>();
+    private int requestsInFlight;
+    private long lastNetworkActivity = System.nanoTime();
+
+    private BrowsingContextInspector contexts;
+    private LogInspector logs;
+    private Network network;
+    private int polledConsoleSeen;
+    // Session's own script timeout, put back by close(), and the one currently set
+    private Duration originalScriptTimeout;
+    private Duration scriptTimeout;
+
+    private int eventWaits;
+    private int polledWaits;
+
+    private EventWait(WebDriver driver) {
+        this.driver = driver;
+        this.polling = new ConditionWait(driver, Duration.ZERO);
+    }
+
+    /**
+     * Event waits on a session, subscribed to its BiDi events right away.
+     * Subscribing hands callbacks on this instance to BiDi event threads, so
+     * it happens here, once the instance is fully constructed.
+     */
+    public static EventWait open(WebDriver driver) {
+        EventWait events = new EventWait(driver);
+        events.bidi = events.subscribe();
+        return events;
+    }
+
+    /** Subscribe to prompts, console and network right away so no event is missed; false without BiDi */
+    private boolean subscribe() {
+        if (!(driver instanceof HasBiDi hasBiDi) || hasBiDi.maybeGetBiDi().isEmpty()) {
+            return false;
+        }
+        try {
+            contexts = new BrowsingContextInspector(driver);
+            contexts.onUserPromptOpened(prompt -> record(prompts, prompt.getMessage()));
+            logs = new LogInspector(driver);
+            logs.onConsoleEntry(entry -> record(consoleEntries, entry.getText()));
+            network = new Network(driver);
+            network.onBeforeRequestSent(request -> networkActivity(1));
+            network.onResponseCompleted(response -> networkActivity(-1));
+            network.onFetchError(error -> networkActivity(-1));
+            return true;
+        } catch (WebDriverException e) {
+            EventLog.shared().warn("event.wait.bidi.unavailable", "error", String.valueOf(e.getMessage()));
+            close();
+            return false;
+        }
+    }
+
+    private void record(List<String> events, String value) {
+        synchronized (monitor) {
+            events.add(value == null ? "" : value);
+            monitor.notifyAll();
+        }
+    }
+
+    private void networkActivity(int delta) {
+        synchronized (monitor) {
+            requestsInFlight = Math.max(0, requestsInFlight + delta);
+            lastNetworkActivity = System.nanoTime();
+            monitor.notifyAll();
+        }
+    }
+
+    /** True when prompts, console and network waits are driven by BiDi events */
+    public boolean isEventDriven() {
+        return bidi;
+    }
+
+    /**
+     * The first element matching a CSS selector, id, name or XPath locator (and
+     * displayed, if asked), as soon as a DOM mutation produces it.
+     */
+    public WebElement forElement(By locator, boolean visible, Duration timeout) {
+        String[] query = observerQuery(locator);
+        if (query != null && driver instanceof JavascriptExecutor js) {
+            Object found = null;
+            boolean observed = false;
+            try {
+                ensureScriptTimeout(timeout);
+                found = js.executeAsyncScript(ELEMENT_SCRIPT, query[0], query[1], visible, timeout.toMillis());
+                observed = true;
+            } catch (WebDriverException e) {
+                // Async scripts blocked (e.g. by the page's CSP), poll instead
+            }
+            if (observed) {
+                eventWaits++;
+                if (found instanceof WebElement element) {
+                    return element;
+                }
+                throw new TimeoutException("No " + (visible ? "visible " : "") + "element within "
+                        + timeout.toMillis() + " ms: " + locator);
+            }
+        }
+        polledWaits++;
+        return polling.until(d -> {
+            WebElement element = d.findElement(locator);
+            return !visible || element.isDisplayed() ? element : null;
+        }, timeout, 0);
+    }
+
+    /** {xpath or css selector, expression} for the locators the observer script can evaluate, else null */
+    private static String[] observerQuery(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        String value = String.valueOf(remotable.getRemoteParameters().value());
+        String quoted = "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        return switch (remotable.getRemoteParameters().using()) {
+            case "xpath" -> new String[] {"xpath", value};
+            case "css selector" -> new String[] {"css", value};
+            case "id" -> new String[] {"css", "[id=" + quoted + "]"};
+            case "name" -> new String[] {"css", "[name=" + quoted + "]"};
+            default -> null;
+        };
+    }
+
+    private void ensureScriptTimeout(Duration timeout) {
+        Duration needed = timeout.plusSeconds(1);
+        if (scriptTimeout == null) {
+            scriptTimeout = driver.manage().timeouts().getScriptTimeout();
+            originalScriptTimeout = scriptTimeout;
+        }
+        if (scriptTimeout.compareTo(needed) < 0) {
+            driver.manage().timeouts().scriptTimeout(needed);
+            scriptTimeout = needed;
+        }
+    }
+
+    /** The next alert, confirm or prompt, switched to as soon as the browser opens it */
+    public Alert forPrompt(Duration timeout) {
+        if (bidi) {
+            eventWaits++;
+            if (awaitEvent(prompts, message -> true, timeout) != null) {
+                return driver.switchTo().alert();
+            }
+            // Opened before we subscribed, or not at all: one direct look settles it
+            return polling.until(ExpectedConditions.alertIsPresent(), Duration.ZERO, 0);
+        }
+        polledWaits++;
+        return polling.until(ExpectedConditions.alertIsPresent(), timeout, 0);
+    }
+
+    /**
+     * A console entry containing the text. With BiDi any entry since this
+     * EventWait was created counts; the polling fallback only sees entries
+     * printed after its first call. Each entry is matched once.
+     */
+    public String forConsole(String contains, Duration timeout) {
+        if (bidi) {
+            eventWaits++;
+            String entry = awaitEvent(consoleEntries, text -> text.contains(contains), timeout);
+            if (entry == null) {
+                throw new TimeoutException("No console entry containing '" + contains + "' within " + timeout.toMillis() + " ms");
+            }
+            return entry;
+        }
+        polledWaits++;
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        return polling.until(d -> {
+            @SuppressWarnings("unchecked")
+            List<Object> entries = (List<Object>) js.executeScript(CONSOLE_HOOK_SCRIPT, polledConsoleSeen);
+            for (Object entry : entries) {
+                polledConsoleSeen++;
+                if (String.valueOf(entry).contains(contains)) {
+                    return String.valueOf(entry);
+                }
+            }
+            return null;
+        }, timeout, 0);
+    }
+
+    /** Wait until no request has been in flight for the quiet period */
+    public void forNetworkIdle(Duration quiet, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        if (bidi) {
+            eventWaits++;
+            synchronized (monitor) {
+                while (true) {
+                    long now = System.nanoTime();
+                    long quietLeft = quiet.toNanos() - (now - lastNetworkActivity);
+                    if (requestsInFlight == 0 && quietLeft <= 0) {
+                        return;
+                    }
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        throw new TimeoutException(requestsInFlight + " requests still in flight after " + timeout.toMillis() + " ms");
+                    }
+                    waitOnMonitor(Math.min(remaining, requestsInFlight == 0 ? quietLeft : remaining));
+                }
+            }
+        }
+        // Fallback: the page's resource timing list has stopped growing for the quiet period
+        polledWaits++;
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        long[] last = {-1, System.nanoTime()};
+        polling.until(d -> {
+            long count = ((Number) js.executeScript(
+                    "return document.readyState === 'complete' ? performance.getEntriesByType('resource').length : -1;"))
+                    .longValue();
+            long now = System.nanoTime();
+            if (count != last[0] || count < 0) {
+                last[0] = count;
+                last[1] = now;
+                return false;
+            }
+            return now - last[1] >= quiet.toNanos();
+        }, timeout, 0);
+    }
+
+    /** Next event accepted by the filter (removed, so it matches once), or null at the deadline */
+    private String awaitEvent(List<String> events, Predicate<String> filter, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (monitor) {
+            while (true) {
+                for (int i = 0; i < events.size(); i++) {
+                    if (filter.test(events.get(i))) {
+                        return events.remove(i);
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                waitOnMonitor(remaining);
+            }
+        }
+    }
+
+    private void waitOnMonitor(long nanos) {
+        try {
+            monitor.wait(Math.max(1, nanos / 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting for a browser event", e);
+        }
+    }
+
+    public int getEventWaits() {
+        return eventWaits;
+    }
+
+    public int getPolledWaits() {
+        return polledWaits;
+    }
+
+    public String report() {
+        return "Event waits: " + eventWaits + ", polled waits: " + polledWaits
+                + (bidi ? " (BiDi events on)" : " (no BiDi, prompts/console/network polled)");
+    }
+
+    /** Unsubscribe from the BiDi events and put back the session's script timeout */
+    @Override
+    public void close() {
+        if (originalScriptTimeout != null && !originalScriptTimeout.equals(scriptTimeout)) {
+            try {
+                driver.manage().timeouts().scriptTimeout(originalScriptTimeout);
+            } catch (WebDriverException e) {
+                // Session may already be gone
+            }
+        }
+        originalScriptTimeout = null;
+        scriptTimeout = null;
+        for (AutoCloseable module : new AutoCloseable[] {contexts, logs, network}) {
+            if (module != null) {
+                try {
+                    module.close();
+                } catch (Exception e) {
+                    // Session may already be gone
+                }
+            }
+        }
+        contexts = null;
+        logs = null;
+        network = null;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Embedded HTTP server that serves recorded snapshots of the practice pages
+ * from src/main/resources/fixtures, so the suites can run offline and
+ * without internet latency.
+ *
+ * Paths mirror the live site: /AutomationPractice/, /dropdownsPractise/,
+ * plus /home/ and /courses/ used by the iframe and the new tab / window
+ * buttons. A path ending in "/" serves that folder's index.html.
+ *
+ * Normally started through {@link TestSite} with -Dsite=local.
+ */
+public class FixtureServer {
+
+    private static final String ROOT = "/fixtures";
+
+    private static FixtureServer shared;
+
+    private final HttpServer server;
+
+    public FixtureServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fixture-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * The server shared by every test class in this JVM, started on first
+     * use on the port from -Dfixture.port (default: any free port).
+     */
+    public static synchronized FixtureServer shared() {
+        if (shared == null) {
+            try {
+                shared = new FixtureServer(Integer.getInteger("fixture.port", 0));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not start fixture server", e);
+            }
+            shared.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "fixture-server-shutdown"));
+            System.out.println("🏠 Fixture server running at " + shared.baseUrl());
+        }
+        return shared;
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /** Base URL without trailing slash, e.g. http://127.0.0.1:53211 */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (path.contains("..")) {
+                send(exchange, 400, "text/plain", "Bad path".getBytes());
+                return;
+            }
+            if (path.endsWith("/")) {
+                path += "index.html";
+            } else if (FixtureServer.class.getResource(ROOT + path + "/index.html") != null) {
+                // /AutomationPractice without the trailing slash, like the live site. Checked before opening
+                // the path, because a classpath directory opens as a listing instead of returning null
+                exchange.getResponseHeaders().add("Location", path + "/");
+                send(exchange, 301, "text/plain", new byte[0]);
+                return;
+            }
+
+            byte[] body;
+            try (InputStream in = FixtureServer.class.getResourceAsStream(ROOT + path)) {
+                if (in == null) {
+                    send(exchange, 404, "text/plain", ("Not found: " + path).getBytes());
+                    return;
+                }
+                body = in.readAllBytes();
+            }
+            send(exchange, 200, contentType(path), body);
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.getResponseHeaders().add("Cache-Control", "no-cache");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String contentType(String path) {
+        if (path.endsWith(".html")) {
+            return "text/html; charset=utf-8";
+        } else if (path.endsWith(".js")) {
+            return "application/javascript";
+        } else if (path.endsWith(".css")) {
+            return "text/css";
+        } else if (path.endsWith(".png")) {
+            return "image/png";
+        } else if (path.endsWith(".jpg") || path.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (path.endsWith(".svg")) {
+            return "image/svg+xml";
+        }
+        return "application/octet-stream";
+    }
+}
@@ -0,0 +1,170 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Immutable copy of the state of every input and select on a page (or
+ * under one element), captured with a single executeScript call.
+ *
+ * Checking a form element by element costs a round-trip per getAttribute,
+ * isSelected and getText, i.e. O(elements) calls per verification. This
+ * reads id, name, value and the checked / disabled / displayed flags of all
+ * inputs, plus every select's options and selection, in one go and answers
+ * the assertions locally:
+ *
+ * <pre>
+ * FormSnapshot form = FormSnapshot.capture(driver);
+ * Assert.assertEquals(form.checkedValues("radio"), List.of("radio2"));
+ * Assert.assertEquals(form.select("dropdown-class-example").orElseThrow().selectedTexts(), List.of("Option3"));
+ * </pre>
+ *
+ * Inputs and selects are listed in document order, the same order
+ * findElements returns them in.
+ */
+public final class FormSnapshot {
+
+    private static final String CAPTURE_SCRIPT =
+            "var root = arguments[0] || document;"
+            + "function shown(e) {"
+            + "  var style = window.getComputedStyle(e);"
+            + "  return style.visibility !== 'hidden' && style.display !== 'none' && e.getClientRects().length > 0;"
+            + "}"
+            + "var inputs = [], selects = [];"
+            + "root.querySelectorAll('input').forEach(function (e) {"
+            + "  inputs.push({type: (e.type || 'text').toLowerCase(), id: e.id, name: e.name, value: e.value,"
+            + "    checked: !!e.checked, disabled: !!e.disabled, displayed: shown(e)});"
+            + "});"
+            + "root.querySelectorAll('select').forEach(function (e) {"
+            + "  var options = [];"
+            + "  for (var i = 0; i < e.options.length; i++) {"
+            + "    var o = e.options[i];"
+            + "    options.push({text: (o.text || '').trim(), value: o.value, selected: o.selected, disabled: o.disabled});"
+            + "  }"
+            + "  selects.push({id: e.id, name: e.name, multiple: e.multiple, disabled: e.disabled,"
+            + "    displayed: shown(e), options: options});"
+            + "});"
+            + "return {inputs: inputs, selects: selects};";
+
+    /** One input element; type is lower case ("checkbox", "radio", "text"...) */
+    public record Input(int index, String type, String id, String name, String value,
+            boolean checked, boolean disabled, boolean displayed) {
+    }
+
+    /** One option of a select */
+    public record Option(String text, String value, boolean selected, boolean disabled) {
+    }
+
+    /** One select element with all its options */
+    public record SelectBox(String id, String name, boolean multiple, boolean disabled, boolean displayed,
+            List<Option> options) {
+
+        public SelectBox {
+            options = List.copyOf(options);
+        }
+
+        public List<String> optionTexts() {
+            return options.stream().map(Option::text).toList();
+        }
+
+        public List<String> selectedTexts() {
+            return options.stream().filter(Option::selected).map(Option::text).toList();
+        }
+
+        /** Text of the first selected option, or null if nothing is selected */
+        public String firstSelectedText() {
+            List<String> selected = selectedTexts();
+            return selected.isEmpty() ? null : selected.get(0);
+        }
+    }
+
+    private final List<Input> inputs;
+    private final List<SelectBox> selects;
+
+    public FormSnapshot(List<Input> inputs, List<SelectBox> selects) {
+        this.inputs = List.copyOf(inputs);
+        this.selects = List.copyOf(selects);
+    }
+
+    /** Snapshot of the whole page in one round-trip */
+    public static FormSnapshot capture(WebDriver driver) {
+        return capture((JavascriptExecutor) driver, null);
+    }
+
+    /** Snapshot of the inputs and selects under root (the whole page if null) in one round-trip */
+    @SuppressWarnings("unchecked")
+    public static FormSnapshot capture(JavascriptExecutor js, WebElement root) {
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(CAPTURE_SCRIPT, root);
+        List<Input> inputs = new ArrayList<>();
+        for (Map<String, Object> input : (List<Map<String, Object>>) result.get("inputs")) {
+            inputs.add(new Input(inputs.size(), text(input, "type"), text(input, "id"), text(input, "name"),
+                    text(input, "value"), flag(input, "checked"), flag(input, "disabled"), flag(input, "displayed")));
+        }
+        List<SelectBox> selects = new ArrayList<>();
+        for (Map<String, Object> select : (List<Map<String, Object>>) result.get("selects")) {
+            List<Option> options = new ArrayList<>();
+            for (Map<String, Object> option : (List<Map<String, Object>>) select.get("options")) {
+                options.add(new Option(text(option, "text"), text(option, "value"),
+                        flag(option, "selected"), flag(option, "disabled")));
+            }
+            selects.add(new SelectBox(text(select, "id"), text(select, "name"), flag(select, "multiple"),
+                    flag(select, "disabled"), flag(select, "displayed"), options));
+        }
+        return new FormSnapshot(inputs, selects);
+    }
+
+    private static String text(Map<String, Object> values, String key) {
+        Object value = values.get(key);
+        return value == null ? "" : value.toString();
+    }
+
+    private static boolean flag(Map<String, Object> values, String key) {
+        return Boolean.TRUE.equals(values.get(key));
+    }
+
+    public List<Input> getInputs() {
+        return inputs;
+    }
+
+    public List<SelectBox> getSelects() {
+        return selects;
+    }
+
+    /** Inputs of one type, e.g. "checkbox", in document order */
+    public List<Input> inputs(String type) {
+        return inputs.stream().filter(input -> input.type().equalsIgnoreCase(type)).toList();
+    }
+
+    /** Values of the checked inputs of one type */
+    public List<String> checkedValues(String type) {
+        return inputs(type).stream().filter(Input::checked).map(Input::value).toList();
+    }
+
+    /** First input with this id, or else this name */
+    public Optional<Input> input(String idOrName) {
+        return find(inputs, idOrName, Input::id, Input::name);
+    }
+
+    /** First select with this id, or else this name */
+    public Optional<SelectBox> select(String idOrName) {
+        return find(selects, idOrName, SelectBox::id, SelectBox::name);
+    }
+
+    private static <T> Optional<T> find(List<T> items, String key,
+            Function<T, String> id, Function<T, String> name) {
+        Optional<T> byId = items.stream().filter(item -> key.equals(id.apply(item))).findFirst();
+        return byId.isPresent() ? byId : items.stream().filter(item -> key.equals(name.apply(item))).findFirst();
+    }
+
+    @Override
+    public String toString() {
+        return "FormSnapshot with " + inputs.size() + " inputs and " + selects.size() + " selects";
+    }
+}
@@ -0,0 +1,417 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Query engine over a captured {@link TableGrid}.
+ *
+ * Lookups by course name, price filters and sorting used to be done with
+ * XPath and getText over the live page, i.e. a linear scan with a round-trip
+ * per cell. Once the table is captured we can build indexes instead:
+ *
+ * - a hash index on a key column answers "row(s) for course X" in O(1)
+ * - a sorted index on a numeric column answers range filters with a binary
+ *   search, gives sort order for free and keeps prefix sums so SUM/AVG over
+ *   a range is O(log n)
+ *
+ * <pre>
+ * IndexedTable courses = new IndexedTable(grid)
+ *         .withHashIndex("Course")
+ *         .withSortedIndex("Price");
+ * double total = courses.query().whereBetween("Price", 20, 40).sum("Price");
+ * List&lt;List&lt;String&gt;&gt; cheapest = courses.query().orderBy("Price", true).limit(3).rows();
+ * </pre>
+ */
+public class IndexedTable {
+
+    private final TableGrid grid;
+    private final Map<Integer, Map<String, int[]>> hashIndexes = new HashMap<>();
+    private final Map<Integer, SortedIndex> sortedIndexes = new HashMap<>();
+    private final Map<Integer, double[]> numericColumns = new HashMap<>();
+
+    public IndexedTable(TableGrid grid) {
+        this.grid = grid;
+    }
+
+    public TableGrid getGrid() {
+        return grid;
+    }
+
+    public int getRowCount() {
+        return grid.getRowCount();
+    }
+
+    /** Build a hash index on an exact-match key column such as "Course" */
+    public IndexedTable withHashIndex(String header) {
+        int column = grid.columnIndex(header);
+        Map<String, List<Integer>> buckets = new HashMap<>();
+        for (int row = 0; row < grid.getRowCount(); row++) {
+            buckets.computeIfAbsent(grid.cell(row, column), k -> new ArrayList<>()).add(row);
+        }
+        Map<String, int[]> index = new HashMap<>(buckets.size() * 2);
+        for (Map.Entry<String, List<Integer>> bucket : buckets.entrySet()) {
+            index.put(bucket.getKey(), bucket.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        hashIndexes.put(column, index);
+        return this;
+    }
+
+    /** Build a sorted index on a numeric column such as "Price" */
+    public IndexedTable withSortedIndex(String header) {
+        int column = grid.columnIndex(header);
+        sortedIndexes.put(column, new SortedIndex(grid, column, numeric(column)));
+        return this;
+    }
+
+    public Query query() {
+        return new Query();
+    }
+
+    private double[] numeric(int column) {
+        return numericColumns.computeIfAbsent(column, c -> {
+            double[] values = new double[grid.getRowCount()];
+            for (int row = 0; row < values.length; row++) {
+                values[row] = TableGrid.parseNumber(grid.cell(row, c));
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Row ids ordered by value, with the values in the same order and
+     * running sums for range aggregates. Rows without a number (NaN) follow
+     * the numeric ones, ordered by their text, so orderBy gives the same
+     * answer with or without an index and still sorts text columns.
+     */
+    private static final class SortedIndex {
+        final int[] rowIds;
+        final int numericCount;
+        final double[] values;
+        final double[] prefixSums;
+
+        SortedIndex(TableGrid grid, int columnIndex, double[] column) {
+            List<Integer> numbers = new ArrayList<>();
+            List<Integer> others = new ArrayList<>();
+            for (int row = 0; row < column.length; row++) {
+                (Double.isNaN(column[row]) ? others : numbers).add(row);
+            }
+            numbers.sort(Comparator.comparingDouble(row -> column[row]));
+            others.sort(Comparator.comparing(row -> grid.cell(row, columnIndex)));
+
+            numericCount = numbers.size();
+            rowIds = new int[column.length];
+            values = new double[numericCount];
+            prefixSums = new double[numericCount + 1];
+            for (int i = 0; i < numericCount; i++) {
+                rowIds[i] = numbers.get(i);
+                values[i] = column[rowIds[i]];
+                prefixSums[i + 1] = prefixSums[i] + values[i];
+            }
+            for (int i = 0; i < others.size(); i++) {
+                rowIds[numericCount + i] = others.get(i);
+            }
+        }
+
+        /** Row at position i of the ordering; descending reverses each part but keeps NaN rows last */
+        int rowAt(int i, boolean ascending) {
+            if (ascending) {
+                return rowIds[i];
+            }
+            return i < numericCount ? rowIds[numericCount - 1 - i] : rowIds[rowIds.length - 1 - (i - numericCount)];
+        }
+
+        /** First position with value >= min */
+        int lowerBound(double min) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < min) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        /** First position with value > max */
+        int upperBound(double max) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= max) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    /**
+     * Filter / sort / aggregate over the table. Predicates are ANDed; a
+     * predicate on an indexed column takes its rows from the index instead
+     * of scanning. A single indexed predicate is kept as an id list or index
+     * range and only turned into a row bitset when it has to be combined.
+     */
+    public final class Query {
+        private BitSet candidates;
+        private int[] keyRows;         // rows of a sole hash-index predicate
+        private int[] range;           // [column, from, to] of a sole sorted-index predicate
+        private boolean filtered;
+        private int orderColumn = -1;
+        private boolean ascending = true;
+        private int limit = Integer.MAX_VALUE;
+
+        private Query() {
+        }
+
+        /** Exact match on a column, using its hash index when there is one */
+        public Query whereEquals(String header, String value) {
+            int column = grid.columnIndex(header);
+            Map<String, int[]> index = hashIndexes.get(column);
+            if (index != null) {
+                int[] rows = index.getOrDefault(value, new int[0]);
+                if (!filtered) {
+                    filtered = true;
+                    keyRows = rows;
+                    return this;
+                }
+                return and(toBitSet(rows));
+            }
+            BitSet matches = new BitSet(grid.getRowCount());
+            for (int row = 0; row < grid.getRowCount(); row++) {
+                if (grid.cell(row, column).equals(value)) {
+                    matches.set(row);
+                }
+            }
+            return and(matches);
+        }
+
+        /** Substring match on a column (always a scan) */
+        public Query whereContains(String header, String text) {
+            int column = grid.columnIndex(header);
+            BitSet matches = new BitSet(grid.getRowCount());
+            for (int row = 0; row < grid.getRowCount(); row++) {
+                if (grid.cell(row, column).contains(text)) {
+                    matches.set(row);
+                }
+            }
+            return and(matches);
+        }
+
+        /** Inclusive numeric range, using the sorted index when there is one */
+        public Query whereBetween(String header, double min, double max) {
+            int column = grid.columnIndex(header);
+            SortedIndex index = sortedIndexes.get(column);
+            if (index != null) {
+                int[] hit = {column, index.lowerBound(min), index.upperBound(max)};
+                if (!filtered) {
+                    filtered = true;
+                    range = hit;
+                    return this;
+                }
+                BitSet matches = new BitSet(grid.getRowCount());
+                for (int i = hit[1]; i < hit[2]; i++) {
+                    matches.set(index.rowIds[i]);
+                }
+                return and(matches);
+            }
+            double[] values = numeric(column);
+            BitSet matches = new BitSet(grid.getRowCount());
+            for (int row = 0; row < values.length; row++) {
+                if (values[row] >= min && values[row] <= max) {
+                    matches.set(row);
+                }
+            }
+            return and(matches);
+        }
+
+        private Query and(BitSet matches) {
+            if (!filtered) {
+                candidates = matches;
+            } else {
+                BitSet current = candidates();
+                current.and(matches);
+                candidates = current;
+                keyRows = null;
+                range = null;
+            }
+            filtered = true;
+            return this;
+        }
+
+        private BitSet toBitSet(int[] rows) {
+            BitSet bits = new BitSet(grid.getRowCount());
+            for (int row : rows) {
+                bits.set(row);
+            }
+            return bits;
+        }
+
+        /** Matching rows as a bitset (null when there is no filter) */
+        private BitSet candidates() {
+            if (candidates == null && keyRows != null) {
+                candidates = toBitSet(keyRows);
+            } else if (candidates == null && range != null) {
+                SortedIndex index = sortedIndexes.get(range[0]);
+                candidates = new BitSet(grid.getRowCount());
+                for (int i = range[1]; i < range[2]; i++) {
+                    candidates.set(index.rowIds[i]);
+                }
+            }
+            return candidates;
+        }
+
+        /** True when the only filter is a sorted-index range on this column */
+        private boolean isRangeOn(int column) {
+            return range != null && range[0] == column && limit == Integer.MAX_VALUE;
+        }
+
+        public Query orderBy(String header, boolean ascending) {
+            this.orderColumn = grid.columnIndex(header);
+            this.ascending = ascending;
+            return this;
+        }
+
+        public Query limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        /** Matching row ids in the requested order */
+        public int[] rowIds() {
+            int total = grid.getRowCount();
+            if (orderColumn < 0) {
+                int[] ids;
+                if (keyRows != null) {
+                    ids = keyRows.clone(); // already in row order
+                } else {
+                    BitSet rows = candidates();
+                    ids = rows == null ? IntStream.range(0, total).toArray() : rows.stream().toArray();
+                }
+                return ids.length > limit ? Arrays.copyOf(ids, limit) : ids;
+            }
+
+            SortedIndex index = sortedIndexes.get(orderColumn);
+            if (index != null && range != null && range[0] == orderColumn) {
+                // Range on the sort column: the index slice is already the answer
+                int size = Math.min(limit, range[2] - range[1]);
+                int[] ids = new int[size];
+                for (int i = 0; i < size; i++) {
+                    ids[i] = index.rowIds[ascending ? range[1] + i : range[2] - 1 - i];
+                }
+                return ids;
+            }
+            if (index == null) {
+                // Same ordering as an index would give, built for this query only
+                index = new SortedIndex(grid, orderColumn, numeric(orderColumn));
+            }
+            // Walk the sorted order and keep rows that match
+            BitSet rows = candidates();
+            int[] ids = new int[Math.min(limit, rows == null ? total : rows.cardinality())];
+            int n = 0;
+            for (int i = 0; i < index.rowIds.length && n < ids.length; i++) {
+                int row = index.rowAt(i, ascending);
+                if (rows == null || rows.get(row)) {
+                    ids[n++] = row;
+                }
+            }
+            return Arrays.copyOf(ids, n);
+        }
+
+        public List<List<String>> rows() {
+            List<List<String>> rows = new ArrayList<>();
+            for (int row : rowIds()) {
+                rows.add(grid.getRows().get(row));
+            }
+            return rows;
+        }
+
+        public int count() {
+            if (limit != Integer.MAX_VALUE) {
+                return rowIds().length;
+            }
+            if (keyRows != null) {
+                return keyRows.length;
+            }
+            if (range != null) {
+                return range[2] - range[1];
+            }
+            BitSet rows = candidates();
+            return rows == null ? grid.getRowCount() : rows.cardinality();
+        }
+
+        public double sum(String header) {
+            int column = grid.columnIndex(header);
+            if (isRangeOn(column)) {
+                SortedIndex index = sortedIndexes.get(column);
+                return index.prefixSums[range[2]] - index.prefixSums[range[1]];
+            }
+            double[] values = numeric(column);
+            double sum = 0;
+            for (int row : rowIds()) {
+                if (!Double.isNaN(values[row])) {
+                    sum += values[row];
+                }
+            }
+            return sum;
+        }
+
+        public double average(String header) {
+            int column = grid.columnIndex(header);
+            if (isRangeOn(column)) {
+                int count = range[2] - range[1];
+                return count == 0 ? Double.NaN : sum(header) / count;
+            }
+            double[] values = numeric(column);
+            double sum = 0;
+            int count = 0;
+            for (int row : rowIds()) {
+                if (!Double.isNaN(values[row])) {
+                    sum += values[row];
+                    count++;
+                }
+            }
+            return count == 0 ? Double.NaN : sum / count;
+        }
+
+        public double min(String header) {
+            return extreme(header, true);
+        }
+
+        public double max(String header) {
+            return extreme(header, false);
+        }
+
+        private double extreme(String header, boolean min) {
+            int column = grid.columnIndex(header);
+            if (isRangeOn(column)) {
+                if (range[1] == range[2]) {
+                    return Double.NaN;
+                }
+                SortedIndex index = sortedIndexes.get(column);
+                return min ? index.values[range[1]] : index.values[range[2] - 1];
+            }
+            double[] values = numeric(column);
+            double result = Double.NaN;
+            for (int row : rowIds()) {
+                double value = values[row];
+                if (!Double.isNaN(value) && (Double.isNaN(result) || (min ? value < result : value > result))) {
+                    result = value;
+                }
+            }
+            return result;
+        }
+    }
+}
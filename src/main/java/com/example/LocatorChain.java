@@ -0,0 +1,200 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Self-healing locator: one logical element with several candidate locators.
+ *
+ * Instead of trying every candidate one after another on each run, the chain
+ * tries the candidate that won last time first (one lookup). If it misses,
+ * all remaining candidates are evaluated in the browser with a single script
+ * call (one more lookup) and the new winner is remembered in
+ * {@link LocatorRanking}, so the next run goes straight to it.
+ *
+ * <pre>
+ * LocatorChain options = new LocatorChain("autosuggestOptions",
+ *         LocatorChain.css("li[class='ui-menu-item'] a"),
+ *         LocatorChain.css("ul.ui-autocomplete li a"));
+ * List&lt;WebElement&gt; found = options.findAll(driver);
+ * </pre>
+ *
+ * When finding an element is not enough (a label that matches but whose
+ * click does nothing), {@link #perform(WebDriver, Predicate)} runs the action
+ * on each matching candidate in turn and only a candidate whose action
+ * worked becomes the winner. A remembered winner whose action fails is
+ * forgotten, so the next run starts from the declared order again.
+ */
+public class LocatorChain {
+
+    /** A locator the browser can also evaluate itself: css, xpath or id */
+    public record Candidate(String strategy, String expression) {
+        public By toBy() {
+            return switch (strategy) {
+                case "css" -> By.cssSelector(expression);
+                case "xpath" -> By.xpath(expression);
+                case "id" -> By.id(expression);
+                default -> throw new IllegalArgumentException("Unsupported locator strategy: " + strategy);
+            };
+        }
+
+        public String key() {
+            return strategy + ":" + expression;
+        }
+    }
+
+    // Returns [index, elements] of the first candidate that matches anything
+    private static final String BATCH_SCRIPT =
+            "var candidates = arguments[0];"
+            + "for (var i = 0; i < candidates.length; i++) {"
+            + "  var strategy = candidates[i][0], expression = candidates[i][1], found = [];"
+            + "  try {"
+            + "    if (strategy === 'css') {"
+            + "      found = Array.prototype.slice.call(document.querySelectorAll(expression));"
+            + "    } else if (strategy === 'id') {"
+            + "      var el = document.getElementById(expression); if (el) { found = [el]; }"
+            + "    } else if (strategy === 'xpath') {"
+            + "      var result = document.evaluate(expression, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "      for (var k = 0; k < result.snapshotLength; k++) { found.push(result.snapshotItem(k)); }"
+            + "    }"
+            + "  } catch (e) {}"
+            + "  if (found.length > 0) { return [i, found]; }"
+            + "}"
+            + "return [-1, []];";
+
+    private final String name;
+    private final List<Candidate> candidates;
+    private final LocatorRanking ranking;
+    private Candidate lastWinner;
+
+    public LocatorChain(String name, Candidate... candidates) {
+        this(name, LocatorRanking.shared(), candidates);
+    }
+
+    public LocatorChain(String name, LocatorRanking ranking, Candidate... candidates) {
+        this.name = name;
+        this.ranking = ranking;
+        this.candidates = List.of(candidates);
+    }
+
+    public static Candidate css(String selector) {
+        return new Candidate("css", selector);
+    }
+
+    public static Candidate xpath(String expression) {
+        return new Candidate("xpath", expression);
+    }
+
+    public static Candidate id(String id) {
+        return new Candidate("id", id);
+    }
+
+    public Optional<WebElement> find(WebDriver driver) {
+        List<WebElement> found = findAll(driver);
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /**
+     * All elements matched by the first working candidate, or an empty list
+     * if none of them matches.
+     */
+    public List<WebElement> findAll(WebDriver driver) {
+        return resolve(driver, found -> true);
+    }
+
+    /**
+     * Run an action on the first element of each matching candidate, best
+     * ranked first, until it returns true. Only that candidate is recorded as
+     * the winner; a driver error from the action counts as a failed attempt.
+     *
+     * @return the element the action worked on, or empty if it worked on none
+     */
+    public Optional<WebElement> perform(WebDriver driver, Predicate<WebElement> action) {
+        List<WebElement> found = resolve(driver, elements -> {
+            try {
+                return action.test(elements.get(0));
+            } catch (WebDriverException e) {
+                EventLog.shared().warn("locator.action.failed", "element", name,
+                        "error", String.valueOf(e.getMessage()));
+                return false;
+            }
+        });
+        return found.isEmpty() ? Optional.empty() : Optional.of(found.get(0));
+    }
+
+    /** Elements of the first candidate that matches and passes works, recording only that one */
+    @SuppressWarnings("unchecked")
+    private List<WebElement> resolve(WebDriver driver, Predicate<List<WebElement>> works) {
+        int lookups = 0;
+        Candidate preferred = rankedFirst();
+        List<Candidate> remaining = new ArrayList<>(candidates);
+
+        if (preferred != null) {
+            lookups++;
+            List<WebElement> found = driver.findElements(preferred.toBy());
+            if (!found.isEmpty() && works.test(found)) {
+                lastWinner = preferred;
+                ranking.record(name, preferred.key(), lookups);
+                return found;
+            }
+            if (!found.isEmpty()) {
+                // Found but useless: do not send later runs straight back to it
+                ranking.forget(name, preferred.key());
+            }
+            remaining.remove(preferred);
+        }
+
+        while (!remaining.isEmpty()) {
+            List<List<String>> batch = new ArrayList<>();
+            for (Candidate candidate : remaining) {
+                batch.add(List.of(candidate.strategy(), candidate.expression()));
+            }
+            lookups++;
+            List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeScript(BATCH_SCRIPT, batch);
+            int index = ((Number) result.get(0)).intValue();
+            if (index < 0) {
+                break;
+            }
+            List<WebElement> found = (List<WebElement>) result.get(1);
+            if (works.test(found)) {
+                lastWinner = remaining.get(index);
+                ranking.record(name, lastWinner.key(), lookups);
+                return found;
+            }
+            // Matched but the action failed: carry on with the candidates after it
+            remaining = new ArrayList<>(remaining.subList(index + 1, remaining.size()));
+        }
+        lastWinner = null;
+        ranking.record(name, null, lookups);
+        return List.of();
+    }
+
+    private Candidate rankedFirst() {
+        String winner = ranking.winner(name);
+        if (winner != null) {
+            for (Candidate candidate : candidates) {
+                if (candidate.key().equals(winner)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Candidate that matched on the last find, or null */
+    public Candidate getLastWinner() {
+        return lastWinner;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
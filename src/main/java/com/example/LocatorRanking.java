@@ -0,0 +1,108 @@
+package com.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.TreeSet;
+
+/**
+ * Remembers which locator candidate worked last time for each logical
+ * element, persisted to a small properties file between runs.
+ *
+ * For every element name it stores the winning candidate plus the number of
+ * resolves and driver lookups, so the average number of lookups per element
+ * can be tracked run over run. The file location comes from the system
+ * property "locator.ranking.file" (default locator-ranking.properties).
+ */
+public class LocatorRanking {
+
+    private static LocatorRanking shared;
+
+    private final Path file;
+    private final Properties entries = new Properties();
+    private boolean dirty;
+
+    public LocatorRanking(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                entries.load(reader);
+            } catch (IOException e) {
+                EventLog.shared().warn("locator.ranking.unreadable", "file", file.toString(),
+                        "error", String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    public static synchronized LocatorRanking shared() {
+        if (shared == null) {
+            shared = new LocatorRanking(Paths.get(System.getProperty("locator.ranking.file", "locator-ranking.properties")));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::save, "locator-ranking-save"));
+        }
+        return shared;
+    }
+
+    /** Last winning candidate for an element, or null if it was never resolved */
+    public synchronized String winner(String element) {
+        return entries.getProperty(element + ".winner");
+    }
+
+    /** Record one resolve of an element and how many driver lookups it took */
+    public synchronized void record(String element, String winner, int lookups) {
+        if (winner != null && !winner.equals(winner(element))) {
+            entries.setProperty(element + ".winner", winner);
+        }
+        entries.setProperty(element + ".resolves", String.valueOf(count(element + ".resolves") + 1));
+        entries.setProperty(element + ".lookups", String.valueOf(count(element + ".lookups") + lookups));
+        dirty = true;
+    }
+
+    /** Drop the remembered winner of an element if it is this candidate */
+    public synchronized void forget(String element, String candidate) {
+        if (candidate.equals(winner(element))) {
+            entries.remove(element + ".winner");
+            dirty = true;
+        }
+    }
+
+    private long count(String key) {
+        return Long.parseLong(entries.getProperty(key, "0"));
+    }
+
+    public synchronized double averageLookups(String element) {
+        long resolves = count(element + ".resolves");
+        return resolves == 0 ? 0 : (double) count(element + ".lookups") / resolves;
+    }
+
+    public synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            entries.store(writer, "Locator candidates that resolved each element last time");
+            dirty = false;
+        } catch (IOException e) {
+            EventLog.shared().warn("locator.ranking.unsaved", "file", file.toString(),
+                    "error", String.valueOf(e.getMessage()));
+        }
+    }
+
+    public synchronized String report() {
+        StringBuilder report = new StringBuilder("Locator lookups per element:");
+        TreeSet<String> elements = new TreeSet<>();
+        for (String key : entries.stringPropertyNames()) {
+            if (key.endsWith(".resolves")) {
+                elements.add(key.substring(0, key.length() - ".resolves".length()));
+            }
+        }
+        for (String element : elements) {
+            report.append(String.format("%n   %s: %.2f avg over %d resolves (winner: %s)",
+                    element, averageLookups(element), count(element + ".resolves"), winner(element)));
+        }
+        return report.toString();
+    }
+}
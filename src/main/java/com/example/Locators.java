@@ -5,17 +5,16 @@ import java.time.Duration;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.Select;
 import org.testng.Assert;
 
 public class Locators {
     public static void main(String[] args) throws InterruptedException {
-        WebDriver driver = new ChromeDriver();
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+        WebDriver driver = DriverPool.shared().lease();
+        // Explicit budget per lookup instead of a 5 s implicit wait on every findElement
+        WaitPolicy lookups = new WaitPolicy(driver);
 
-        driver.get("https://rahulshettyacademy.com/dropdownsPractise/");
-        driver.manage().window().maximize();
+        driver.get(TestSite.dropdownsPractise());
         // WebElement staticDropdown =
         // driver.findElement(By.id("ctl00_mainContent_DropDownListCurrency"));
         // Select dropdownSelect = new Select(staticDropdown);
@@ -23,25 +22,25 @@ public class Locators {
         // dropdownSelect.selectByVisibleText("AED");
         // System.out.println(dropdownSelect.getFirstSelectedOption().getText());
 
-        // driver.findElement(By.id("divpaxinfo")).click();
-        // Thread.sleep(2000);
-        // for (int i = 1; i < 5; i++) {
-        // driver.findElement(By.id("hrefIncAdt")).click();
-        // }
-        // driver.findElement(By.id("btnclosepaxoption")).click();
-
-        // System.out.println(driver.findElement(By.id("divpaxinfo")).getText());
-        // Thread.sleep(2000);
+        // Passengers: open the box, four more adults, close it - one round-trip, checked in the same call
+        ActionBatch.Result passengers = new ActionBatch(driver)
+                .click("#divpaxinfo")
+                .click("#hrefIncAdt").times(4).expectText("#divpaxinfo", "5 Adult")
+                .click("#btnclosepaxoption")
+                .flush();
+        Assert.assertTrue(passengers.passed(), passengers.toString());
+        System.out.println("Passengers: " + passengers);
 
         // dynamic dropdown
-        WebElement fromCity = driver.findElement(By.id("ctl00_mainContent_ddl_originStation1_CTXT"));
+        WebElement fromCity = lookups.find(By.id("ctl00_mainContent_ddl_originStation1_CTXT"), Duration.ofSeconds(5));
         fromCity.click();
-        driver.findElement(By.xpath("//a[@value='MAA']")).click();
+        lookups.find(By.xpath("//a[@value='MAA']"), Duration.ofSeconds(2)).click();
         // driver.findElement(By.id("ctl00_mainContent_ddl_destinationStation1_CTXT"));
-        driver.findElement(By.xpath("//div[@id='ctl00_mainContent_ddl_destinationStation1_CTNR'] //a[@value='IXB']")).click();
+        lookups.find(By.xpath("//div[@id='ctl00_mainContent_ddl_destinationStation1_CTNR'] //a[@value='IXB']"), Duration.ofSeconds(2)).click();
         //System.out.println(driver.findElement(By.id("ctl00_mainContent_ddl_destinationStation1_CTXT")).getText());
+        System.out.println(lookups.report());
          Thread.sleep(2000);
-        driver.quit();
+        DriverPool.shared().release(driver);
     }
 
 }
@@ -0,0 +1,59 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Orders work longest-processing-time-first from {@link DurationHistory},
+ * so the slow checks (window handling, iframes) start first and the short
+ * ones fill in the gaps at the end instead of the other way round.
+ *
+ * Units that have no history yet are estimated at the mean of the known
+ * ones, so a new test neither jumps the queue nor gets stuck at the tail.
+ * Units with the same estimate keep their declared order.
+ *
+ * <pre>
+ * LongestFirstScheduler scheduler = new LongestFirstScheduler(DurationHistory.shared());
+ * List&lt;String&gt; order = scheduler.order(components, LongestFirstScheduler::componentUnit);
+ * </pre>
+ */
+public class LongestFirstScheduler {
+
+    /** History key prefix of the AutomationPracticeTestSuite components */
+    public static final String COMPONENT_PREFIX = "AutomationPracticeTestSuite#";
+
+    private final DurationHistory history;
+
+    public LongestFirstScheduler(DurationHistory history) {
+        this.history = history;
+    }
+
+    /** History key of one suite component */
+    public static String componentUnit(String component) {
+        return COMPONENT_PREFIX + component;
+    }
+
+    /** The items longest first; unitName maps an item to its history key */
+    public <T> List<T> order(List<T> items, Function<T, String> unitName) {
+        List<String> units = new ArrayList<>(items.size());
+        for (T item : items) {
+            units.add(unitName.apply(item));
+        }
+        Map<String, Long> estimates = history.estimates(units);
+        List<T> ordered = new ArrayList<>(items);
+        // List.sort is stable, so equal estimates keep the declared order
+        ordered.sort(Comparator.comparingLong((T item) -> estimates.get(unitName.apply(item))).reversed());
+        return ordered;
+    }
+
+    public void record(String unit, long durationMs) {
+        history.record(unit, durationMs);
+    }
+
+    public DurationHistory getHistory() {
+        return history;
+    }
+}
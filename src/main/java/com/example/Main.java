@@ -2,7 +2,6 @@ package com.example;
 
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WindowType;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.GeckoDriverInfo;
@@ -13,7 +12,7 @@ public class Main {
         // Since Selenium Manager is being used, no need to set the driver path manually
         // System.setProperty("webdriver.chrome.driver",
         // "C:\\Users\\admin\\.cache\\selenium\\chromedriver\\win64\\142.0.7444.59\\chromedriver.exe");
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = DriverPool.shared().lease();
         //driver = new FirefoxDriver();
         driver.get("https://www.saucedemo.com");
         String parentWindow = driver.getWindowHandle();
@@ -25,7 +24,7 @@ public class Main {
         driver.switchTo().window(parentWindow);
         System.out.println(driver.getTitle());
         System.out.println(driver.getCurrentUrl());
-        driver.quit();
+        DriverPool.shared().release(driver);
 
     }
 }
\ No newline at end of file
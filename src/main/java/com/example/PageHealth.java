@@ -0,0 +1,108 @@
+package com.example;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One-round-trip readiness check of the practice page, run after it opens.
+ *
+ * A single script reads document.readyState and looks up the anchor
+ * elements every component needs (CSS selectors below). Components whose
+ * anchors are missing, or every component when the page itself did not
+ * load, can then be skipped straight away with the reason recorded, instead
+ * of each one timing out on its own:
+ *
+ * <pre>
+ * PageHealth.Report health = PageHealth.check(driver);
+ * String reason = health.skipReason("testAlerts"); // null when it can run
+ * </pre>
+ */
+public final class PageHealth {
+
+    /** CSS selectors each component needs to find on the page before it can run */
+    public static final Map<String, List<String>> REQUIREMENTS = requirements();
+
+    // Returns the ready state plus, per component, the selectors that matched nothing
+    private static final String CHECK_SCRIPT =
+            "var required = arguments[0], missing = {};"
+            + "if (!document.body) { return {readyState: document.readyState, body: false, missing: missing}; }"
+            + "for (var component in required) {"
+            + "  var absent = required[component].filter(function (s) { return !document.querySelector(s); });"
+            + "  if (absent.length > 0) { missing[component] = absent; }"
+            + "}"
+            + "return {readyState: document.readyState, body: true, missing: missing};";
+
+    /** Outcome of one check: why each unhealthy component should be skipped */
+    public record Report(String readyState, Map<String, String> skipReasons, long elapsedMs) {
+
+        public boolean isHealthy() {
+            return skipReasons.isEmpty();
+        }
+
+        /** Why the component cannot run, or null if its anchors are present */
+        public String skipReason(String component) {
+            return skipReasons.get(component);
+        }
+    }
+
+    private PageHealth() {
+    }
+
+    private static Map<String, List<String>> requirements() {
+        Map<String, List<String>> requirements = new LinkedHashMap<>();
+        requirements.put("testRadioButtons", List.of("input[type='radio']"));
+        requirements.put("testCheckboxes", List.of("input[type='checkbox']"));
+        requirements.put("testStaticDropdown", List.of("#dropdown-class-example"));
+        requirements.put("testAutoSuggestDropdown", List.of("#autocomplete"));
+        requirements.put("testHideShowElements", List.of("#displayed-text", "#hide-textbox", "#show-textbox"));
+        requirements.put("testAlerts", List.of("#alertbtn", "#confirmbtn"));
+        requirements.put("testWebTable", List.of("table[name='courses']"));
+        requirements.put("testMouseHover", List.of("#mousehover"));
+        requirements.put("testIFrame", List.of("#courses-iframe"));
+        requirements.put("testWindowHandling", List.of("#opentab", "#openwindow"));
+        return Collections.unmodifiableMap(requirements);
+    }
+
+    public static Report check(WebDriver driver) {
+        return check(driver, REQUIREMENTS);
+    }
+
+    public static Report check(WebDriver driver, Map<String, List<String>> requirements) {
+        long start = System.currentTimeMillis();
+        Map<String, String> reasons = new LinkedHashMap<>();
+        String readyState;
+        try {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = (Map<String, Object>)
+                    ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT, requirements);
+            readyState = String.valueOf(result.get("readyState"));
+            @SuppressWarnings("unchecked")
+            Map<String, List<String>> missing = (Map<String, List<String>>) result.get("missing");
+            if (!Boolean.TRUE.equals(result.get("body")) || readyState.equals("loading")) {
+                skipAll(requirements, reasons, "page not loaded (readyState=" + readyState + ")");
+            } else {
+                for (String component : requirements.keySet()) {
+                    List<String> absent = missing.get(component);
+                    if (absent != null) {
+                        reasons.put(component, "missing " + String.join(", ", absent));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            readyState = "unknown";
+            skipAll(requirements, reasons, "health check failed: " + e.getClass().getSimpleName());
+        }
+        return new Report(readyState, Collections.unmodifiableMap(reasons), System.currentTimeMillis() - start);
+    }
+
+    private static void skipAll(Map<String, List<String>> requirements, Map<String, String> reasons, String reason) {
+        for (String component : requirements.keySet()) {
+            reasons.put(component, reason);
+        }
+    }
+}
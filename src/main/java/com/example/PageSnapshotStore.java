@@ -0,0 +1,263 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Page sources stored gzip-compressed on disk, one file per distinct
+ * content, with streaming search over the stored copies.
+ *
+ * A saved source is streamed through the compressor and a SHA-256 digest
+ * at the same time, so it is never copied, and identical snapshots (the
+ * same page captured by several runs or threads) are stored once. Every
+ * save is appended to manifest.tsv (time, label, URL, hash, length).
+ *
+ * Search decompresses the file as it reads it and keeps only the context
+ * window in memory, so looking for text in a large page costs a few
+ * hundred characters of heap instead of two copies of the document:
+ *
+ * <pre>
+ * PageSnapshotStore.Snapshot snapshot = PageSnapshotStore.shared().save("checkbox", driver);
+ * PageSnapshotStore.shared().around(snapshot, "senior", 200)
+ *         .ifPresent(match -&gt; System.out.println(match.context()));
+ * </pre>
+ *
+ * Matching ignores case. Location comes from -Dpage.snapshot.dir (default
+ * target/page-snapshots).
+ */
+public class PageSnapshotStore {
+
+    private static final String MANIFEST = "manifest.tsv";
+    private static final int CHUNK = 8192;
+
+    private static PageSnapshotStore shared;
+
+    /** One saved snapshot; duplicate when identical content was already stored */
+    public record Snapshot(String hash, String label, String url, long chars, boolean duplicate) {
+    }
+
+    /** One hit of a search: the matched text with up to the requested context on each side */
+    public record Match(long offset, String before, String match, String after) {
+
+        public String context() {
+            return before + match + after;
+        }
+    }
+
+    private final Path directory;
+
+    private long saved;
+    private long duplicates;
+
+    public PageSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    public static synchronized PageSnapshotStore shared() {
+        if (shared == null) {
+            shared = new PageSnapshotStore(Paths.get(System.getProperty("page.snapshot.dir", "target/page-snapshots")));
+        }
+        return shared;
+    }
+
+    /** Store the current page of the driver */
+    public Snapshot save(String label, WebDriver driver) {
+        // The protocol hands the source over as one string; from here on it is only streamed
+        return save(label, driver.getCurrentUrl(), new StringReader(driver.getPageSource()));
+    }
+
+    /** Compress and store a page source read from source, skipping the write if the content is known */
+    public Snapshot save(String label, String url, Reader source) {
+        try {
+            Path objects = directory.resolve("objects");
+            Files.createDirectories(objects);
+            Path temp = Files.createTempFile(objects, "snapshot", ".tmp");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long chars = 0;
+            try (OutputStream file = Files.newOutputStream(temp);
+                    Writer writer = new OutputStreamWriter(
+                            new DigestOutputStream(new GZIPOutputStream(file, CHUNK), digest), StandardCharsets.UTF_8)) {
+                char[] buffer = new char[CHUNK];
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    writer.write(buffer, 0, read);
+                    chars += read;
+                }
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path object = objectPath(hash);
+            boolean duplicate;
+            synchronized (this) {
+                duplicate = Files.exists(object);
+                if (duplicate) {
+                    Files.delete(temp);
+                    duplicates++;
+                } else {
+                    Files.createDirectories(object.getParent());
+                    Files.move(temp, object, StandardCopyOption.ATOMIC_MOVE);
+                }
+                saved++;
+                appendManifest(label, url, hash, chars);
+            }
+            return new Snapshot(hash, label, url, chars, duplicate);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store page snapshot " + label, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void appendManifest(String label, String url, String hash, long chars) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(MANIFEST),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(System.currentTimeMillis() + "\t" + label + "\t" + (url == null ? "" : url)
+                    + "\t" + hash + "\t" + chars);
+            writer.newLine();
+        }
+    }
+
+    /** Stored file of a snapshot hash */
+    public Path objectPath(String hash) {
+        return directory.resolve("objects").resolve(hash.substring(0, 2)).resolve(hash + ".html.gz");
+    }
+
+    /** First match of needle with radius characters on each side */
+    public Optional<Match> around(Snapshot snapshot, String needle, int radius) {
+        List<Match> matches = search(snapshot.hash(), needle, radius, radius, 1);
+        return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0));
+    }
+
+    public boolean contains(Snapshot snapshot, String needle) {
+        return !search(snapshot.hash(), needle, 0, 0, 1).isEmpty();
+    }
+
+    /**
+     * Up to limit matches of needle (ignoring case) in a stored snapshot,
+     * each with up to before / after characters of context, read by
+     * streaming through the compressed file.
+     */
+    public List<Match> search(String hash, String needle, int before, int after, int limit) {
+        if (needle.isEmpty()) {
+            throw new IllegalArgumentException("Search text must not be empty");
+        }
+        char[] pattern = needle.toLowerCase().toCharArray();
+        int[] fallback = failureTable(pattern);
+        // Ring of the last before + needle characters, enough to cut out a match and what precedes it
+        char[] recent = new char[before + pattern.length];
+        List<Match> matches = new ArrayList<>();
+        List<StringBuilder> pendingAfter = new ArrayList<>();
+        List<Match> pending = new ArrayList<>();
+
+        try (Reader reader = new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(objectPath(hash)), CHUNK), StandardCharsets.UTF_8)) {
+            char[] buffer = new char[CHUNK];
+            long position = 0;
+            int matched = 0;
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    char c = buffer[i];
+                    // Feed the trailing context of earlier matches
+                    for (int p = pending.size() - 1; p >= 0; p--) {
+                        StringBuilder context = pendingAfter.get(p);
+                        context.append(c);
+                        if (context.length() == after) {
+                            matches.add(complete(pending.remove(p), pendingAfter.remove(p)));
+                        }
+                    }
+                    if (matches.size() >= limit) {
+                        return matches.subList(0, limit);
+                    }
+                    recent[(int) (position % recent.length)] = c;
+
+                    char lower = Character.toLowerCase(c);
+                    while (matched > 0 && pattern[matched] != lower) {
+                        matched = fallback[matched - 1];
+                    }
+                    if (pattern[matched] == lower) {
+                        matched++;
+                    }
+                    if (matched == pattern.length) {
+                        long start = position - pattern.length + 1;
+                        Match match = new Match(start, slice(recent, Math.max(0, start - before), start),
+                                slice(recent, start, position + 1), "");
+                        if (after == 0) {
+                            matches.add(match);
+                            if (matches.size() >= limit) {
+                                return matches;
+                            }
+                        } else {
+                            pending.add(match);
+                            pendingAfter.add(new StringBuilder(after));
+                        }
+                        matched = fallback[matched - 1];
+                    }
+                }
+            }
+            // End of document: matches near the end get whatever context is left
+            for (int p = 0; p < pending.size(); p++) {
+                matches.add(complete(pending.get(p), pendingAfter.get(p)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read page snapshot " + hash, e);
+        }
+        matches.sort((a, b) -> Long.compare(a.offset(), b.offset()));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private static Match complete(Match match, StringBuilder after) {
+        return new Match(match.offset(), match.before(), match.match(), after.toString());
+    }
+
+    /** Characters [from, to) of the stream, taken from the ring of recent characters */
+    private static String slice(char[] recent, long from, long to) {
+        StringBuilder text = new StringBuilder((int) (to - from));
+        for (long i = from; i < to; i++) {
+            text.append(recent[(int) (i % recent.length)]);
+        }
+        return text.toString();
+    }
+
+    /** KMP failure table: longest proper prefix of pattern[0..i] that is also its suffix */
+    private static int[] failureTable(char[] pattern) {
+        int[] table = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; i++) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = table[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            table[i] = k;
+        }
+        return table;
+    }
+
+    public synchronized String report() {
+        return "Page snapshots: " + saved + " saved, " + duplicates + " duplicates not stored again";
+    }
+}
@@ -0,0 +1,176 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Runs the AutomationPracticeTestSuite components in parallel.
+ *
+ * Every component check becomes an independent unit with its own pooled
+ * browser session and its own suite instance, so one component's failure
+ * (or a stray alert / window it leaves behind) cannot affect another.
+ * Components are started longest first according to {@link DurationHistory}
+ * (see {@link LongestFirstScheduler}) so the slowest ones do not stretch the
+ * tail of the run, and their measured durations are recorded for the next
+ * run. Only components that ran to the end are recorded: a skipped component
+ * or one that crashed (no session, an exception escaping the check) took
+ * however long the skip or the crash took, which says nothing about its next
+ * run. Durations are measured from the moment the component's page is open,
+ * so time spent waiting for a pooled session or loading the page is not
+ * charged to the check. Results are merged in declaration order regardless
+ * of completion order and reported through {@link EventLog}.
+ *
+ * Number of workers comes from the system property "suite.workers"
+ * (defaults to the driver pool size). With -Dsuite.executor=virtual every
+ * component runs on its own virtual thread instead, capped at that many
+ * concurrent sessions by {@link VirtualThreadExecutor}:
+ *
+ * <pre>
+ * mvn exec:java -Ddriver.pool.size=4 -Dexec.args="--parallel"
+ * mvn exec:java -Ddriver.pool.size=4 -Dsuite.executor=virtual -Dexec.args="--parallel"
+ * </pre>
+ */
+public class ParallelSuiteRunner {
+
+    /**
+     * Outcome of one component check. completed is false when the component
+     * was skipped or crashed, so durationMs is not a measure of the check.
+     */
+    public record ComponentResult(String component, boolean passed, String failure, long durationMs,
+                                  boolean completed) {
+    }
+
+    private final DriverPool pool;
+    private final Supplier<ExecutorService> executors;
+    private final LongestFirstScheduler scheduler;
+    private final Supplier<AutomationPracticeTestSuite> suites;
+
+    public ParallelSuiteRunner(DriverPool pool, int workers) {
+        this(pool, () -> Executors.newFixedThreadPool(workers));
+    }
+
+    /** Run components on executors from the given factory, one executor per run() */
+    public ParallelSuiteRunner(DriverPool pool, Supplier<ExecutorService> executors) {
+        this(pool, executors, new LongestFirstScheduler(DurationHistory.shared()));
+    }
+
+    public ParallelSuiteRunner(DriverPool pool, Supplier<ExecutorService> executors, LongestFirstScheduler scheduler) {
+        this(pool, executors, scheduler, AutomationPracticeTestSuite::new);
+    }
+
+    /** Give every component a suite instance from the given factory */
+    public ParallelSuiteRunner(DriverPool pool, Supplier<ExecutorService> executors, LongestFirstScheduler scheduler,
+                               Supplier<AutomationPracticeTestSuite> suites) {
+        this.pool = pool;
+        this.executors = executors;
+        this.scheduler = scheduler;
+        this.suites = suites;
+    }
+
+    public static void main(String[] args) {
+        DriverPool pool = DriverPool.shared();
+        int workers = Integer.getInteger("suite.workers", pool.getSize());
+
+        ParallelSuiteRunner runner;
+        VirtualThreadExecutor virtual = null;
+        if ("virtual".equalsIgnoreCase(System.getProperty("suite.executor", "platform"))) {
+            virtual = new VirtualThreadExecutor(workers);
+            VirtualThreadExecutor executor = virtual;
+            runner = new ParallelSuiteRunner(pool, () -> executor);
+        } else {
+            runner = new ParallelSuiteRunner(pool, workers);
+        }
+        List<ComponentResult> results = runner.run(AutomationPracticeTestSuite.COMPONENTS);
+        printSummary(results);
+        EventLog log = EventLog.shared();
+        log.info("report.pool", "summary", pool.report());
+        if (virtual != null) {
+            log.info("report.threads", "summary", virtual.report());
+        }
+        log.info("report.commands", "summary", CommandTimings.shared().report());
+        log.info("report.typeahead", "summary", AutoSuggest.report());
+    }
+
+    public List<ComponentResult> run(List<String> components) {
+        ExecutorService executor = executors.get();
+        try {
+            Map<String, Future<ComponentResult>> futures = new HashMap<>();
+            for (String component : scheduler.order(components, LongestFirstScheduler::componentUnit)) {
+                futures.put(component, executor.submit(() -> runIsolated(component)));
+            }
+
+            // Collect in declaration order so the merged report is deterministic
+            List<ComponentResult> results = new ArrayList<>();
+            for (String component : components) {
+                try {
+                    ComponentResult result = futures.get(component).get();
+                    if (result.completed()) {
+                        scheduler.record(LongestFirstScheduler.componentUnit(component), result.durationMs());
+                    }
+                    results.add(result);
+                } catch (ExecutionException e) {
+                    results.add(new ComponentResult(component, false, String.valueOf(e.getCause()), 0, false));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.add(new ComponentResult(component, false, "Interrupted", 0, false));
+                }
+            }
+            scheduler.getHistory().save();
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ComponentResult runIsolated(String component) {
+        long start = 0;
+        WebDriver driver = null;
+        try {
+            driver = pool.lease();
+            AutomationPracticeTestSuite suite = suites.get();
+            suite.open(driver);
+            start = System.currentTimeMillis();
+            suite.runComponent(component);
+
+            Exception failure = suite.getFailures().get(component);
+            String skipReason = suite.getSkipped().get(component);
+            long duration = System.currentTimeMillis() - start;
+            if (skipReason != null) {
+                return new ComponentResult(component, false, "Skipped: " + skipReason, duration, false);
+            }
+            if (failure != null) {
+                return new ComponentResult(component, false, String.valueOf(failure.getMessage()), duration, true);
+            }
+            return new ComponentResult(component, true, null, duration, true);
+        } catch (Throwable t) {
+            // Assertion errors and setup failures stay with this component only
+            return new ComponentResult(component, false, String.valueOf(t.getMessage()),
+                    start == 0 ? 0 : System.currentTimeMillis() - start, false);
+        } finally {
+            pool.release(driver);
+        }
+    }
+
+    public static void printSummary(List<ComponentResult> results) {
+        EventLog log = EventLog.shared();
+        int passed = 0;
+        for (ComponentResult result : results) {
+            if (result.passed()) {
+                passed++;
+                log.info("parallel.passed", "component", result.component(), "durationMs", result.durationMs());
+            } else {
+                log.warn("parallel.failed", "component", result.component(), "failure", result.failure());
+            }
+        }
+        log.info("parallel.completed", "passed", passed + "/" + results.size());
+    }
+}
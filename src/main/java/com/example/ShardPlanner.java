@@ -0,0 +1,56 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits units of work (test classes, suite components) into N shards of
+ * roughly equal expected duration.
+ *
+ * Units are placed longest first, each onto the shard with the smallest
+ * total so far (greedy LPT), which keeps the slowest shard within 4/3 of
+ * the best possible split. Ties are broken by unit name so the same history
+ * always gives the same plan.
+ */
+public final class ShardPlanner {
+
+    /** One shard: its units and their summed estimated duration */
+    public record Shard(int index, List<String> units, long estimatedMs) {
+    }
+
+    private ShardPlanner() {
+    }
+
+    public static List<Shard> plan(Map<String, Long> estimates, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, was " + shardCount);
+        }
+        List<Map.Entry<String, Long>> longestFirst = new ArrayList<>(estimates.entrySet());
+        longestFirst.sort(Map.Entry.<String, Long>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<List<String>> units = new ArrayList<>();
+        long[] totals = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(i -> totals[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < shardCount; i++) {
+            units.add(new ArrayList<>());
+            lightest.add(i);
+        }
+        for (Map.Entry<String, Long> unit : longestFirst) {
+            int shard = lightest.poll();
+            units.get(shard).add(unit.getKey());
+            totals[shard] += unit.getValue();
+            lightest.add(shard);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, List.copyOf(units.get(i)), totals[i]));
+        }
+        return shards;
+    }
+}
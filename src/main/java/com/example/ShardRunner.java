@@ -0,0 +1,404 @@
+package com.example;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.openqa.selenium.json.Json;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import org.testng.xml.internal.Parser;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Runs a large regression in N shards, each in its own JVM, and merges the
+ * results into one report.
+ *
+ * The units are the classes of the enabled tests in testng.xml plus the
+ * AutomationPracticeTestSuite components. They are split by
+ * {@link ShardPlanner} using {@link DurationHistory}, so every shard gets
+ * about the same expected run time. Every shard then runs as a separate
+ * process: a TestNG suite file with its classes plus its components on
+ * pooled browsers. Shard output goes to target/shards/shard-N. When all
+ * shards are done, the TestNG results and component results are merged
+ * into target/shards/merged-results.json and the duration history is
+ * updated with the actual times.
+ *
+ * Shards use local drivers by default. With
+ * -Dselenium.remote.url=http://localhost:4444 they use a Selenium Grid or
+ * standalone server instead (see BrowserProfile). Tests live on the test
+ * classpath, so start it like this:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.ShardRunner -Dshard.count=3
+ * </pre>
+ *
+ * Options: -Dshard.count (default 2), -Dshard.suite (default testng.xml),
+ * -Dshard.dir (default target/shards), -Dshard.components=false to leave
+ * out the browser components.
+ */
+public class ShardRunner {
+
+    // Settings handed down to every shard JVM when set
+    private static final List<String> FORWARDED_PROPERTIES = List.of(
+            "browser.profile", "site", "site.url", "selenium.remote.url", "driver.pool.size",
+            "asset.cache", "asset.cache.dir", "event.log.format", "testng.threads", "credentials.file");
+
+    /** One test method outcome from a shard's testng-results.xml */
+    public record TestOutcome(String className, String method, String status, long durationMs, boolean config) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals("--worker")) {
+            System.exit(runWorker(Paths.get(args[1])));
+        }
+        int shardCount = Integer.getInteger("shard.count", 2);
+        Path suiteFile = Paths.get(System.getProperty("shard.suite", "testng.xml"));
+        Path root = Paths.get(System.getProperty("shard.dir", "target/shards"));
+        boolean components = Boolean.parseBoolean(System.getProperty("shard.components", "true"));
+
+        XmlSuite suite = new Parser(suiteFile.toString()).parseToList().get(0);
+        List<String> units = new ArrayList<>(classesOf(suite));
+        if (components) {
+            for (String component : AutomationPracticeTestSuite.COMPONENTS) {
+                units.add(LongestFirstScheduler.componentUnit(component));
+            }
+        }
+
+        DurationHistory history = DurationHistory.shared();
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(history.estimates(units), shardCount);
+        List<Process> processes = new ArrayList<>();
+        long start = System.currentTimeMillis();
+        for (ShardPlanner.Shard shard : shards) {
+            Path dir = root.resolve("shard-" + shard.index());
+            prepareShard(dir, suite, shard.units());
+            EventLog.shared().info("shard.started", "shard", shard.index() + " (" + shard.units().size() + " units)",
+                    "estimatedMs", shard.estimatedMs());
+            processes.add(launch(dir, history));
+        }
+
+        Merge merge = new Merge(history);
+        for (ShardPlanner.Shard shard : shards) {
+            int exitCode = processes.get(shard.index()).waitFor();
+            merge.add(shard, root.resolve("shard-" + shard.index()), exitCode);
+        }
+        history.save();
+
+        Map<String, Object> report = merge.report();
+        report.put("wallMs", System.currentTimeMillis() - start);
+        Files.createDirectories(root);
+        Path merged = root.resolve("merged-results.json");
+        Files.writeString(merged, new Json().toJson(report));
+        EventLog.shared().info("shards.merged", "report", merged.toString(), "summary",
+                merge.tests.size() + " tests and " + merge.components.size() + " components from " + shards.size()
+                        + " shards, " + merge.failed + " failed, " + merge.skipped + " skipped, "
+                        + merge.brokenShards + " broken shards");
+        System.exit(merge.isSuccess() ? 0 : 1);
+    }
+
+    /**
+     * Results of all shards merged into one report. A shard that exits
+     * non-zero, or that had units but left no results file behind (a crashed
+     * or killed JVM writes none), fails the run even when every outcome it
+     * did report passed.
+     */
+    static class Merge {
+        private final DurationHistory history;
+        final List<Map<String, Object>> shards = new ArrayList<>();
+        final List<Map<String, Object>> tests = new ArrayList<>();
+        final List<Map<String, Object>> components = new ArrayList<>();
+        int failed;
+        int skipped;
+        int brokenShards;
+
+        Merge(DurationHistory history) {
+            this.history = history;
+        }
+
+        void add(ShardPlanner.Shard shard, Path dir, int exitCode) throws IOException {
+            boolean hasClasses = false;
+            boolean hasComponents = false;
+            for (String unit : shard.units()) {
+                if (unit.startsWith(LongestFirstScheduler.COMPONENT_PREFIX)) {
+                    hasComponents = true;
+                } else {
+                    hasClasses = true;
+                }
+            }
+            List<String> problems = new ArrayList<>();
+            if (exitCode != 0) {
+                problems.add("exit code " + exitCode);
+            }
+            Path testResults = dir.resolve("testng-results.xml");
+            if (hasClasses && !Files.exists(testResults)) {
+                problems.add("no testng-results.xml");
+            }
+            Path componentResults = dir.resolve("components.json");
+            if (hasComponents && !Files.exists(componentResults)) {
+                problems.add("no components.json");
+            }
+
+            long shardMs = 0;
+            Map<String, Long> classMs = new LinkedHashMap<>();
+            // Classes with skipped methods did not run to the end; their time would skew the history
+            Set<String> incompleteClasses = new HashSet<>();
+            for (TestOutcome outcome : readTestResults(testResults)) {
+                classMs.merge(outcome.className(), outcome.durationMs(), Long::sum);
+                shardMs += outcome.durationMs();
+                if (outcome.config()) {
+                    continue;
+                }
+                if (outcome.status().equals("FAIL")) {
+                    failed++;
+                } else if (outcome.status().equals("SKIP")) {
+                    skipped++;
+                    incompleteClasses.add(outcome.className());
+                }
+                Map<String, Object> test = new LinkedHashMap<>();
+                test.put("shard", shard.index());
+                test.put("class", outcome.className());
+                test.put("method", outcome.method());
+                test.put("status", outcome.status());
+                test.put("durationMs", outcome.durationMs());
+                tests.add(test);
+            }
+            classMs.keySet().removeAll(incompleteClasses);
+            classMs.forEach(history::record);
+            for (Map<String, Object> component : readComponentResults(componentResults)) {
+                long ms = ((Number) component.get("durationMs")).longValue();
+                if (!Boolean.FALSE.equals(component.get("completed"))) {
+                    history.record(LongestFirstScheduler.componentUnit((String) component.get("component")), ms);
+                }
+                shardMs += ms;
+                if (!Boolean.TRUE.equals(component.get("passed"))) {
+                    failed++;
+                }
+                component.put("shard", shard.index());
+                components.add(component);
+            }
+            if (!problems.isEmpty()) {
+                brokenShards++;
+            }
+
+            Map<String, Object> shardReport = new LinkedHashMap<>();
+            shardReport.put("shard", shard.index());
+            shardReport.put("exitCode", exitCode);
+            shardReport.put("problems", problems);
+            shardReport.put("units", shard.units());
+            shardReport.put("estimatedMs", shard.estimatedMs());
+            shardReport.put("measuredMs", shardMs);
+            shards.add(shardReport);
+            String finished = shard.index() + " (exit " + exitCode + ")";
+            if (problems.isEmpty()) {
+                EventLog.shared().info("shard.finished", "shard", finished, "testMs", shardMs);
+            } else {
+                EventLog.shared().warn("shard.broken", "shard", finished, "problems", String.join(", ", problems));
+            }
+        }
+
+        boolean isSuccess() {
+            return failed == 0 && skipped == 0 && brokenShards == 0;
+        }
+
+        Map<String, Object> report() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("failed", failed);
+            report.put("skipped", skipped);
+            report.put("brokenShards", brokenShards);
+            report.put("shards", shards);
+            report.put("tests", tests);
+            report.put("components", components);
+            return report;
+        }
+    }
+
+    /** Classes of every test element in the suite file (disabled ones are dropped by the parser) */
+    static List<String> classesOf(XmlSuite suite) {
+        List<String> classes = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            for (XmlClass xmlClass : test.getXmlClasses()) {
+                if (!classes.contains(xmlClass.getName())) {
+                    classes.add(xmlClass.getName());
+                }
+            }
+        }
+        return classes;
+    }
+
+    /** Write the shard's suite file (original tests restricted to its classes) and component list */
+    private static void prepareShard(Path dir, XmlSuite original, List<String> units) throws IOException {
+        Files.createDirectories(dir);
+        XmlSuite suite = new XmlSuite();
+        suite.setName(original.getName() + " - " + dir.getFileName());
+        suite.setParallel(original.getParallel());
+        suite.setThreadCount(original.getThreadCount());
+        suite.setDataProviderThreadCount(original.getDataProviderThreadCount());
+        suite.setListeners(original.getListeners());
+        suite.setParameters(original.getParameters());
+        for (XmlTest originalTest : original.getTests()) {
+            List<XmlClass> classes = new ArrayList<>();
+            for (XmlClass xmlClass : originalTest.getXmlClasses()) {
+                if (units.contains(xmlClass.getName())) {
+                    classes.add(new XmlClass(xmlClass.getName(), false));
+                }
+            }
+            if (classes.isEmpty()) {
+                continue;
+            }
+            XmlTest test = new XmlTest(suite);
+            test.setName(originalTest.getName());
+            test.setParameters(originalTest.getLocalParameters());
+            test.setParallel(originalTest.getParallel());
+            test.setXmlClasses(classes);
+        }
+        Files.writeString(dir.resolve("testng-shard.xml"), suite.getTests().isEmpty() ? "" : suite.toXml());
+
+        List<String> components = new ArrayList<>();
+        for (String unit : units) {
+            if (unit.startsWith(LongestFirstScheduler.COMPONENT_PREFIX)) {
+                components.add(unit.substring(LongestFirstScheduler.COMPONENT_PREFIX.length()));
+            }
+        }
+        Files.write(dir.resolve("components.txt"), components);
+    }
+
+    private static Process launch(Path dir, DurationHistory history) throws IOException {
+        // Shards order their own work from a private copy, the parent alone updates the real file
+        Path shardHistory = dir.resolve("test-durations.properties");
+        if (Files.exists(history.getFile())) {
+            Files.copy(history.getFile(), shardHistory, StandardCopyOption.REPLACE_EXISTING);
+        }
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(classpath());
+        for (String property : FORWARDED_PROPERTIES) {
+            String value = System.getProperty(property);
+            if (value != null) {
+                command.add("-D" + property + "=" + value);
+            }
+        }
+        command.add("-Dtest.metrics.file=" + dir.resolve("test-metrics.json"));
+        command.add("-Devent.log.file=" + dir.resolve("events.jsonl"));
+        command.add("-Dduration.history.file=" + shardHistory);
+        command.add(ShardRunner.class.getName());
+        command.add("--worker");
+        command.add(dir.toString());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dir.resolve("output.log").toFile())
+                .start();
+    }
+
+    /** Class path of this JVM; under exec:java that is the plugin's class loader, not java.class.path */
+    private static String classpath() {
+        if (Thread.currentThread().getContextClassLoader() instanceof URLClassLoader loader) {
+            List<String> entries = new ArrayList<>();
+            for (URL url : loader.getURLs()) {
+                try {
+                    entries.add(Paths.get(url.toURI()).toString());
+                } catch (URISyntaxException e) {
+                    throw new IllegalStateException("Unexpected class path entry " + url, e);
+                }
+            }
+            return String.join(File.pathSeparator, entries);
+        }
+        return System.getProperty("java.class.path");
+    }
+
+    /** Shard JVM: run the shard's TestNG classes, then its components */
+    private static int runWorker(Path dir) throws IOException {
+        int status = 0;
+        Path suiteFile = dir.resolve("testng-shard.xml");
+        if (Files.size(suiteFile) > 0) {
+            TestNG testng = new TestNG();
+            testng.setOutputDirectory(dir.toString());
+            testng.setTestSuites(List.of(suiteFile.toString()));
+            testng.run();
+            status = testng.getStatus();
+        }
+
+        List<String> components = Files.readAllLines(dir.resolve("components.txt"));
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (!components.isEmpty()) {
+            DriverPool pool = DriverPool.shared();
+            for (ParallelSuiteRunner.ComponentResult result
+                    : new ParallelSuiteRunner(pool, pool.getSize()).run(components)) {
+                Map<String, Object> component = new LinkedHashMap<>();
+                component.put("component", result.component());
+                component.put("passed", result.passed());
+                component.put("failure", result.failure());
+                component.put("durationMs", result.durationMs());
+                component.put("completed", result.completed());
+                results.add(component);
+                if (!result.passed()) {
+                    status |= 1;
+                }
+            }
+        }
+        Files.writeString(dir.resolve("components.json"), new Json().toJson(results));
+        EventLog.shared().flush();
+        return status;
+    }
+
+    /** Test method outcomes from a TestNG testng-results.xml; empty if the shard wrote none */
+    static List<TestOutcome> readTestResults(Path file) {
+        List<TestOutcome> outcomes = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return outcomes;
+        }
+        try {
+            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file.toFile());
+            NodeList classes = document.getElementsByTagName("class");
+            for (int i = 0; i < classes.getLength(); i++) {
+                Element xmlClass = (Element) classes.item(i);
+                NodeList methods = xmlClass.getElementsByTagName("test-method");
+                for (int j = 0; j < methods.getLength(); j++) {
+                    Element method = (Element) methods.item(j);
+                    outcomes.add(new TestOutcome(xmlClass.getAttribute("name"), method.getAttribute("name"),
+                            method.getAttribute("status"), Long.parseLong(method.getAttribute("duration-ms")),
+                            Boolean.parseBoolean(method.getAttribute("is-config"))));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not read TestNG results " + file, e);
+        }
+        return outcomes;
+    }
+
+    private static List<Map<String, Object>> readComponentResults(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        List<?> entries = new Json().toType(Files.readString(file), List.class);
+        for (Object entry : entries) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = new LinkedHashMap<>((Map<String, Object>) entry);
+            results.add(result);
+        }
+        return results;
+    }
+}
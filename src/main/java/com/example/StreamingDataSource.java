@@ -0,0 +1,311 @@
+package com.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Method;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.openqa.selenium.json.Json;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Streams TestNG DataProvider rows out of large CSV or JSON-lines files.
+ *
+ * The file is memory-mapped window by window and read one line at a time,
+ * so a sequential DataProvider only ever holds the current row on the heap
+ * no matter how many rows the file has. The returned iterators are safe to
+ * share between the threads of a parallel DataProvider, and close the file
+ * once exhausted.
+ *
+ * A parallel DataProvider is different: TestNG pulls the iterator as fast
+ * as it can and queues one worker per row, so without a bound every row of
+ * the file ends up on the heap waiting for a thread. {@link #bounded} adds
+ * that bound: next() blocks while maxInFlight rows of the test method are
+ * queued or running, and {@link RowListener} (registered in testng.xml)
+ * hands a slot back as each row finishes:
+ *
+ * <pre>
+ * &#64;DataProvider(parallel = true)
+ * public Iterator&lt;Object[]&gt; credentials(Method method, ITestContext context) {
+ *     return StreamingDataSource.bounded(StreamingDataSource.csv(Path.of("credentials.csv")),
+ *             method, context.getSuite().getXmlSuite().getDataProviderThreadCount());
+ * }
+ * </pre>
+ *
+ * CSV: first line is a header and is skipped, fields may be quoted with
+ * "..." (doubled quotes inside), quoted fields cannot span lines. JSONL: one
+ * flat object per line, the requested fields are returned in order.
+ */
+public final class StreamingDataSource {
+
+    private static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+
+    // How long next() waits for a finished row before assuming RowListener is not registered
+    private static final long SLOT_TIMEOUT_SECONDS = Long.getLong("dataprovider.slot.timeout", 60);
+
+    private static final Map<Method, Semaphore> SLOTS = new ConcurrentHashMap<>();
+
+    private StreamingDataSource() {
+    }
+
+    /** CSV rows as String[] fields, header line skipped */
+    public static Iterator<Object[]> csv(Path file) {
+        return csv(file, DEFAULT_WINDOW);
+    }
+
+    static Iterator<Object[]> csv(Path file, int windowSize) {
+        MappedLineReader reader = new MappedLineReader(file, windowSize);
+        reader.readLine();
+        return new RowIterator(reader, StreamingDataSource::parseCsvLine);
+    }
+
+    /** JSONL rows with the given fields (missing fields become null) */
+    public static Iterator<Object[]> jsonl(Path file, String... fields) {
+        Json json = new Json();
+        return new RowIterator(new MappedLineReader(file, DEFAULT_WINDOW), line -> {
+            Map<String, Object> object = json.toType(line, Json.MAP_TYPE);
+            Object[] row = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Object value = object.get(fields[i]);
+                row[i] = value == null ? null : value.toString();
+            }
+            return row;
+        });
+    }
+
+    /**
+     * Rows of a parallel DataProvider, with at most maxInFlight of them
+     * handed to TestNG and not yet finished. testMethod is the method the
+     * rows feed (TestNG passes it to a DataProvider that declares a Method
+     * parameter); {@link RowListener} frees a slot when one of its
+     * invocations finishes.
+     */
+    public static Iterator<Object[]> bounded(Iterator<Object[]> rows, Method testMethod, int maxInFlight) {
+        Semaphore slots = new Semaphore(maxInFlight);
+        SLOTS.put(testMethod, slots);
+        return new Iterator<>() {
+            private boolean unbounded;
+
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!unbounded) {
+                    try {
+                        if (!slots.tryAcquire(SLOT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                            unbounded = true;
+                            // Is StreamingDataSource.RowListener registered? Read the remaining rows without a bound
+                            EventLog.shared().warn("rows.unbounded", "test", testMethod.getName(),
+                                    "waitedSeconds", String.valueOf(SLOT_TIMEOUT_SECONDS));
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new NoSuchElementException("Interrupted while waiting for a free row slot");
+                    }
+                }
+                return rows.next();
+            }
+        };
+    }
+
+    /** Free the slot of one finished row of testMethod; no-op for methods without a bounded DataProvider */
+    public static void rowFinished(Method testMethod) {
+        Semaphore slots = SLOTS.get(testMethod);
+        if (slots != null) {
+            slots.release();
+        }
+    }
+
+    /** Frees a {@link #bounded} slot whenever a test invocation finishes, whatever its outcome */
+    public static class RowListener implements ITestListener {
+
+        private static void finished(ITestResult result) {
+            rowFinished(result.getMethod().getConstructorOrMethod().getMethod());
+        }
+
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            finished(result);
+        }
+
+        @Override
+        public void onTestFailure(ITestResult result) {
+            finished(result);
+        }
+
+        @Override
+        public void onTestSkipped(ITestResult result) {
+            finished(result);
+        }
+
+        @Override
+        public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+            finished(result);
+        }
+    }
+
+    static Object[] parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray();
+    }
+
+    /** Pulls and parses one non-blank line per row; synchronized for parallel DataProviders */
+    private static final class RowIterator implements Iterator<Object[]> {
+        private final MappedLineReader reader;
+        private final Function<String, Object[]> parser;
+        private String next;
+
+        RowIterator(MappedLineReader reader, Function<String, Object[]> parser) {
+            this.reader = reader;
+            this.parser = parser;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            while (next == null && !reader.isClosed()) {
+                String line = reader.readLine();
+                if (line == null) {
+                    reader.close();
+                } else if (!line.isBlank()) {
+                    next = line;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = next;
+            next = null;
+            return parser.apply(line);
+        }
+    }
+
+    /**
+     * Reads UTF-8 lines through a sliding memory-mapped window. A line cut
+     * off by the end of a window is re-read from the start of the next one.
+     */
+    static final class MappedLineReader implements Closeable {
+        private final FileChannel channel;
+        private final long size;
+        private final int windowSize;
+        private long windowStart;
+        private MappedByteBuffer window;
+        private boolean closed;
+
+        MappedLineReader(Path file, int windowSize) {
+            try {
+                this.channel = FileChannel.open(file, StandardOpenOption.READ);
+                this.size = channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open data file " + file, e);
+            }
+            this.windowSize = windowSize;
+            map(0);
+        }
+
+        private void map(long start) {
+            try {
+                windowStart = start;
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not map data file at offset " + start, e);
+            }
+        }
+
+        /** Next line without its line terminator, or null at end of file */
+        String readLine() {
+            if (closed || windowStart + window.position() >= size) {
+                return null;
+            }
+            int lineStart = window.position();
+            while (true) {
+                while (window.hasRemaining()) {
+                    if (window.get() == '\n') {
+                        return decode(lineStart, window.position() - 1);
+                    }
+                }
+                if (windowStart + window.limit() >= size) {
+                    // Last line without a trailing newline
+                    return decode(lineStart, window.limit());
+                }
+                if (lineStart == 0) {
+                    throw new IllegalStateException("Line longer than " + windowSize + " bytes at offset " + windowStart);
+                }
+                // Slide the window so the partial line starts it, then keep scanning
+                int scanned = window.position() - lineStart;
+                map(windowStart + lineStart);
+                lineStart = 0;
+                window.position(scanned);
+            }
+        }
+
+        private String decode(int from, int to) {
+            int end = to > from && window.get(to - 1) == '\r' ? to - 1 : to;
+            byte[] bytes = new byte[end - from];
+            window.get(from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        boolean isClosed() {
+            return closed;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Read-only channel, nothing left to lose
+            }
+        }
+    }
+}
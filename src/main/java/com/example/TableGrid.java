@@ -0,0 +1,169 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * In-memory copy of an HTML table, captured with a single executeScript call.
+ *
+ * Reading a table with findElements per row and getText per cell costs one
+ * WebDriver round-trip per call, i.e. hundreds for the courses table. This
+ * class reads every header and cell text in the browser in one go and then
+ * answers lookups locally:
+ *
+ * <pre>
+ * TableGrid courses = TableGrid.capture(driver, By.xpath("//table[@name='courses']"));
+ * String price = courses.lookup("Course", "Selenium Webdriver", "Price").orElse("n/a");
+ * </pre>
+ */
+public class TableGrid {
+
+    // Header row = first row made only of th cells; everything else is data
+    private static final String CAPTURE_SCRIPT =
+            "var table = arguments[0], headers = [], rows = [];"
+            + "for (var i = 0; i < table.rows.length; i++) {"
+            + "  var cells = table.rows[i].cells, texts = [], allTh = cells.length > 0;"
+            + "  for (var j = 0; j < cells.length; j++) {"
+            + "    texts.push((cells[j].innerText || cells[j].textContent || '').trim());"
+            + "    if (cells[j].tagName !== 'TH') { allTh = false; }"
+            + "  }"
+            + "  if (allTh && headers.length === 0 && rows.length === 0) { headers = texts; }"
+            + "  else if (texts.length > 0) { rows.push(texts); }"
+            + "}"
+            + "return {headers: headers, rows: rows};";
+
+    private final List<String> headers;
+    private final List<List<String>> rows;
+
+    public TableGrid(List<String> headers, List<List<String>> rows) {
+        this.headers = List.copyOf(headers);
+        List<List<String>> copy = new ArrayList<>(rows.size());
+        for (List<String> row : rows) {
+            copy.add(List.copyOf(row));
+        }
+        this.rows = Collections.unmodifiableList(copy);
+    }
+
+    /** Locate the table and capture it (two round-trips: find + script) */
+    public static TableGrid capture(WebDriver driver, By tableLocator) {
+        return capture((JavascriptExecutor) driver, driver.findElement(tableLocator));
+    }
+
+    /** Capture an already located table element in a single round-trip */
+    @SuppressWarnings("unchecked")
+    public static TableGrid capture(JavascriptExecutor js, WebElement table) {
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(CAPTURE_SCRIPT, table);
+        List<String> headers = (List<String>) result.get("headers");
+        List<List<String>> rows = (List<List<String>>) result.get("rows");
+        return new TableGrid(headers, rows);
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    public List<List<String>> getRows() {
+        return rows;
+    }
+
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    public String cell(int row, int column) {
+        List<String> cells = rows.get(row);
+        return column < cells.size() ? cells.get(column) : "";
+    }
+
+    public String cell(int row, String header) {
+        return cell(row, columnIndex(header));
+    }
+
+    /** Index of a header, ignoring case and surrounding whitespace */
+    public int columnIndex(String header) {
+        for (int i = 0; i < headers.size(); i++) {
+            if (headers.get(i).equalsIgnoreCase(header.trim())) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No column '" + header + "' in table with headers " + headers);
+    }
+
+    public List<String> column(String header) {
+        int index = columnIndex(header);
+        List<String> values = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            values.add(cell(i, index));
+        }
+        return values;
+    }
+
+    /** Column parsed as numbers, e.g. prices; cells without a number become NaN */
+    public double[] numericColumn(String header) {
+        int index = columnIndex(header);
+        double[] values = new double[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            values[i] = parseNumber(cell(i, index));
+        }
+        return values;
+    }
+
+    public double number(int row, String header) {
+        return parseNumber(cell(row, header));
+    }
+
+    /** First row whose key column contains the given text */
+    public Optional<List<String>> findRow(String keyHeader, String keyContains) {
+        int keyIndex = columnIndex(keyHeader);
+        for (int i = 0; i < rows.size(); i++) {
+            if (cell(i, keyIndex).contains(keyContains)) {
+                return Optional.of(rows.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Value of one column in the first row whose key column contains the given text */
+    public Optional<String> lookup(String keyHeader, String keyContains, String valueHeader) {
+        int valueIndex = columnIndex(valueHeader);
+        return findRow(keyHeader, keyContains)
+                .map(row -> valueIndex < row.size() ? row.get(valueIndex) : "");
+    }
+
+    /**
+     * Parse the numeric part of a cell such as "25", "$1,200.50", "-3" or
+     * "Amount: 30". A '-' counts as a sign only right before a digit, so
+     * "Price - 25" is 25. Returns NaN when the text has no digits.
+     */
+    public static double parseNumber(String text) {
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean sign = c == '-' && digits.length() == 0 && i + 1 < text.length()
+                    && Character.isDigit(text.charAt(i + 1));
+            if (Character.isDigit(c) || c == '.' || sign) {
+                digits.append(c);
+            } else if (digits.length() > 0 && c != ',') {
+                break;
+            }
+        }
+        try {
+            return digits.length() == 0 ? Double.NaN : Double.parseDouble(digits.toString());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TableGrid" + headers + " with " + rows.size() + " rows";
+    }
+}
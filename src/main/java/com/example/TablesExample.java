@@ -6,15 +6,13 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.testng.Assert;
 
 public class TablesExample {
     public static void main(String[] args) throws InterruptedException {
         System.out.println("TablesExample main method executed");
-        WebDriver driver = new ChromeDriver();
-        driver.manage().window().maximize();
-        driver.get("https://rahulshettyacademy.com/AutomationPractice/");
+        WebDriver driver = BrowserProfile.current().launch();
+        driver.get(TestSite.automationPractice());
         JavascriptExecutor js = (JavascriptExecutor) driver;
         js.executeScript("window.scroll(0,500)");
 
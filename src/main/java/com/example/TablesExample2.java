@@ -1,14 +1,15 @@
 package com.example;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Runnable examples showing XPath traversal patterns (parent->child, child->child,
@@ -17,16 +18,17 @@ import java.util.List;
  *
  * Notes:
  * - Requires ChromeDriver on PATH (or configured via system property).
- * - This prints example outputs; adjust XPath strings if the page markup changes.
+ * - Browser flags come from BrowserProfile (-Dbrowser.profile=HEADLESS etc.).
+ * - This logs example outputs as EventLog events; adjust XPath strings if the page markup changes.
  */
 public class TablesExample2 {
     public static void main(String[] args) {
-        WebDriver driver = new ChromeDriver();
+        WebDriver driver = BrowserProfile.current().launch();
         WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        String url = "https://rahulshettyacademy.com/AutomationPractice/";
+        EventLog log = EventLog.shared();
+        String url = TestSite.automationPractice();
 
         try {
-            driver.manage().window().maximize();
             driver.get(url);
 
             // wait for the table to appear
@@ -41,21 +43,27 @@ public class TablesExample2 {
                 // fallback when tbody is not present in markup
                 bodyRows = table.findElements(By.xpath("./tr"));
             }
-            System.out.println("Direct child rows (./tr or ./tbody/tr): " + bodyRows.size());
+            log.info("rows.direct", "count", bodyRows.size());
 
             // 2) Descendant (anywhere under the table) vs scoped descendant
             List<WebElement> allRowsDocScope = driver.findElements(By.xpath("//table[@name='courses']//tr"));
             List<WebElement> allRowsScoped = table.findElements(By.xpath(".//tr"));
-            System.out.println("Rows found with document-scope //table...//tr: " + allRowsDocScope.size());
-            System.out.println("Rows found with element-scoped .//tr: " + allRowsScoped.size());
+            log.info("rows.documentScope", "count", allRowsDocScope.size());
+            log.info("rows.elementScope", "count", allRowsScoped.size());
 
             // 3) Child -> Child: from a specific row to its cells
+            // Cell texts come from one captured grid instead of a getText() round-trip per cell
+            TableGrid grid = TableGrid.capture((JavascriptExecutor) driver, table);
             if (!allRowsScoped.isEmpty()) {
                 WebElement firstRow = allRowsScoped.get(0);
                 List<WebElement> cols = firstRow.findElements(By.xpath("./td"));
-                System.out.println("Columns in first row (./td): " + cols.size());
-                for (int i = 0; i < cols.size(); i++) {
-                    System.out.println("  col[" + i + "] text = '" + cols.get(i).getText().trim() + "'");
+                log.info("row.columns", "count", cols.size());
+                log.info("table.headers", "cells", String.join(" | ", grid.getHeaders()));
+                if (grid.getRowCount() > 0) {
+                    List<String> firstDataRow = grid.getRows().get(0);
+                    for (int i = 0; i < firstDataRow.size(); i++) {
+                        log.info("row.cell", "text", firstDataRow.get(i), "col", i);
+                    }
                 }
             }
 
@@ -63,22 +71,22 @@ public class TablesExample2 {
             // Example: find a cell that contains a known course name then go up to its row
             WebElement cellWithCourse = table.findElement(By.xpath(".//td[contains(normalize-space(.), 'Selenium Webdriver')]"));
             WebElement parentRow = cellWithCourse.findElement(By.xpath("ancestor::tr"));
-            System.out.println("Parent row text for Selenium Webdriver row: '" + parentRow.getText().trim() + "'");
+            log.info("cell.parentRow", "text", parentRow.getText().trim());
 
             // 5) Sibling traversal: from a cell get the next sibling cell (e.g., price column)
             WebElement priceCell = cellWithCourse.findElement(By.xpath("following-sibling::td[1]"));
-            System.out.println("Sibling (price) cell text: '" + priceCell.getText().trim() + "'");
+            log.info("cell.sibling", "text", priceCell.getText().trim());
 
             // 6) Complex: find the price for a course by matching course name then selecting column
             // This is common interview ask: "Find price for course with name X"
+            // XPath version: .//tr[.//td[contains(normalize-space(.), 'X')]]/td[2]
+            // Here the lookup runs against the captured grid, no extra round-trips
             String courseName = "Selenium Webdriver"; // example; change as needed
-            List<WebElement> priceForCourse = table.findElements(By.xpath(
-                    ".//tr[.//td[contains(normalize-space(.), '" + courseName + "')]]/td[2]"
-            ));
-            if (!priceForCourse.isEmpty()) {
-                System.out.println("Price for '" + courseName + "' = " + priceForCourse.get(0).getText().trim());
+            Optional<String> priceForCourse = grid.lookup("Course", courseName, "Price");
+            if (priceForCourse.isPresent()) {
+                log.info("course.price", "course", courseName, "price", priceForCourse.get());
             } else {
-                System.out.println("Couldn't find price for '" + courseName + "' with the example XPath.");
+                log.warn("course.price.missing", "course", courseName);
             }
 
             // 7) Action in same row (click button/link in the matched row)
@@ -87,19 +95,20 @@ public class TablesExample2 {
                     ".//tr[.//td[contains(normalize-space(.), '" + courseName + "')]]//a | .//tr[.//td[contains(normalize-space(.), '" + courseName + "')]]//button"
             ));
             if (!actionButtons.isEmpty()) {
-                System.out.println("Found action element for '" + courseName + "': " + actionButtons.get(0).getText());
+                log.info("course.action", "course", courseName, "text", actionButtons.get(0).getText());
                 // actionButtons.get(0).click(); // uncomment to perform click
             } else {
-                System.out.println("No action button found for '" + courseName + "' (example only).");
+                log.warn("course.action.missing", "course", courseName);
             }
 
             // 8) Useful XPath helpers often asked in interviews
-            System.out.println("Example XPath helpers shown in comments inside the code (contains(), starts-with(), normalize-space(), position(), last()).");
+            log.info("xpath.helpers", "functions", "contains(), starts-with(), normalize-space(), position(), last()");
 
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("example.failed", "error", String.valueOf(e));
         } finally {
             driver.quit();
+            log.flush();
         }
     }
 }
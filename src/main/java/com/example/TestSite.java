@@ -0,0 +1,42 @@
+package com.example;
+
+/**
+ * Where the practice pages are loaded from.
+ *
+ * By default every test class hits the live site. With -Dsite=local the
+ * pages come from the embedded {@link FixtureServer} instead (started once
+ * per JVM), and -Dsite.url=http://host:port points everything at another
+ * mirror of the same paths.
+ *
+ * <pre>
+ * mvn exec:java -Dsite=local
+ * </pre>
+ */
+public final class TestSite {
+
+    private static final String LIVE_URL = "https://rahulshettyacademy.com";
+
+    private TestSite() {
+    }
+
+    public static boolean isLocal() {
+        return "local".equalsIgnoreCase(System.getProperty("site", "live"));
+    }
+
+    /** Base URL without trailing slash */
+    public static String baseUrl() {
+        String override = System.getProperty("site.url");
+        if (override != null && !override.isBlank()) {
+            return override.endsWith("/") ? override.substring(0, override.length() - 1) : override;
+        }
+        return isLocal() ? FixtureServer.shared().baseUrl() : LIVE_URL;
+    }
+
+    public static String automationPractice() {
+        return baseUrl() + "/AutomationPractice/";
+    }
+
+    public static String dropdownsPractise() {
+        return baseUrl() + "/dropdownsPractise/";
+    }
+}
@@ -0,0 +1,189 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.testng.IExecutorServiceFactory;
+
+/**
+ * Executor that runs every task on its own virtual thread, with a semaphore
+ * capping how many tasks run at once (i.e. how many browser sessions are in
+ * use).
+ *
+ * WebDriver commands are blocking HTTP calls, so a test unit spends nearly
+ * all its time waiting. On a virtual thread that wait does not pin a
+ * platform thread, and tasks queued behind the cap wait on the semaphore
+ * for next to nothing instead of each needing a pooled thread. A task whose
+ * wait is interrupted is cancelled, and shutdownNow() cancels and returns
+ * the tasks still waiting, like a pool returns its queue.
+ *
+ * <pre>
+ * ExecutorService executor = new VirtualThreadExecutor(4);   // at most 4 sessions
+ * executor.submit(() -> runIsolated(component));
+ * </pre>
+ *
+ * Used by ParallelSuiteRunner with -Dsuite.executor=virtual, and by TestNG
+ * through {@link TestNGFactory} (see {@link VirtualThreadTestNG}).
+ */
+public class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private final ExecutorService threads;
+    private final Semaphore sessions;
+    private final int maxSessions;
+
+    // Tasks handed to execute() that do not hold a session yet; one entry per call, even for the same Runnable
+    private final Set<Waiting> waiting = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger peakRunning = new AtomicInteger();
+    private final AtomicLong tasks = new AtomicLong();
+    private final AtomicLong totalPermitWaitNanos = new AtomicLong();
+
+    public VirtualThreadExecutor(int maxSessions) {
+        this(maxSessions, "virtual-worker-");
+    }
+
+    public VirtualThreadExecutor(int maxSessions, String threadNamePrefix) {
+        if (maxSessions < 1) {
+            throw new IllegalArgumentException("Session cap must be at least 1, was " + maxSessions);
+        }
+        this.maxSessions = maxSessions;
+        this.sessions = new Semaphore(maxSessions, true);
+        this.threads = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(threadNamePrefix, 0).factory());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Waiting waiting = new Waiting(task);
+        this.waiting.add(waiting);
+        try {
+            threads.execute(() -> runWhenPermitted(waiting));
+        } catch (RejectedExecutionException e) {
+            this.waiting.remove(waiting);
+            throw e;
+        }
+    }
+
+    private void runWhenPermitted(Waiting waiting) {
+        long start = System.nanoTime();
+        try {
+            sessions.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // Never ran: cancel it so nobody blocks forever on its Future (shutdownNow already did if it took it)
+            if (this.waiting.remove(waiting) && waiting.task instanceof Future<?> future) {
+                future.cancel(false);
+            }
+            return;
+        }
+        if (!this.waiting.remove(waiting)) {
+            // shutdownNow() took it while we waited for the permit
+            sessions.release();
+            return;
+        }
+        totalPermitWaitNanos.addAndGet(System.nanoTime() - start);
+        peakRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        tasks.incrementAndGet();
+        try {
+            waiting.task.run();
+        } finally {
+            running.decrementAndGet();
+            sessions.release();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        threads.shutdown();
+    }
+
+    /**
+     * Interrupts running tasks and returns the tasks still waiting for a
+     * session. Those never run; submitted ones are cancelled so callers
+     * blocked on their Future are released.
+     */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> neverRun = new ArrayList<>();
+        for (Waiting waiting : List.copyOf(this.waiting)) {
+            if (this.waiting.remove(waiting)) {
+                neverRun.add(waiting.task);
+                if (waiting.task instanceof Future<?> future) {
+                    future.cancel(false);
+                }
+            }
+        }
+        threads.shutdownNow();
+        return neverRun;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return threads.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    /** Most tasks that held a session at the same time */
+    public int getPeakRunning() {
+        return peakRunning.get();
+    }
+
+    public double getAveragePermitWaitMs() {
+        long count = tasks.get();
+        return count == 0 ? 0 : totalPermitWaitNanos.get() / 1_000_000.0 / count;
+    }
+
+    public String report() {
+        return String.format("Virtual executor: %d tasks, peak %d/%d sessions, avg %.1f ms waiting for a session",
+                tasks.get(), getPeakRunning(), maxSessions, getAveragePermitWaitMs());
+    }
+
+    private static final class Waiting {
+        final Runnable task;
+
+        Waiting(Runnable task) {
+            this.task = task;
+        }
+    }
+
+    /**
+     * TestNG hook: replaces the platform thread pool TestNG builds for
+     * parallel methods with a virtual-thread executor. The session cap is
+     * -Ddriver.pool.size when set, otherwise the suite's thread-count.
+     */
+    public static class TestNGFactory implements IExecutorServiceFactory {
+
+        @Override
+        public ExecutorService create(int corePoolSize, int maximumPoolSize, long keepAliveTime, TimeUnit unit,
+                                      BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+            int cap = Integer.getInteger("driver.pool.size", Math.max(1, maximumPoolSize));
+            return new VirtualThreadExecutor(cap, "testng-virtual-");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example;
+
+import java.util.List;
+
+import org.testng.TestNG;
+
+/**
+ * Runs a TestNG suite file with parallel methods on virtual threads
+ * ({@link VirtualThreadExecutor.TestNGFactory}) instead of TestNG's platform
+ * thread pool. Surefire cannot pass an executor factory to TestNG, so this
+ * is started through the exec plugin on the test classpath:
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.VirtualThreadTestNG -Dexec.args="testng.xml"
+ * </pre>
+ *
+ * Reports go to target/testng-virtual, next to Surefire's, not test-output/.
+ */
+public class VirtualThreadTestNG {
+
+    public static void main(String[] args) {
+        TestNG testng = new TestNG();
+        testng.setOutputDirectory("target/testng-virtual");
+        testng.setTestSuites(List.of(args.length > 0 ? args[0] : "testng.xml"));
+        testng.setExecutorServiceFactory(new VirtualThreadExecutor.TestNGFactory());
+        testng.run();
+        System.exit(testng.getStatus());
+    }
+}
@@ -0,0 +1,118 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * Element lookups with an explicit time budget per call, replacing the
+ * global implicit wait.
+ *
+ * With an implicit wait every findElement/findElements on an element that
+ * is not there blocks for the full implicit timeout, including checks that
+ * expect nothing to be found. Here each call says how long it may wait, a
+ * zero budget looks exactly once, and the session's implicit wait stays at
+ * zero (DriverPool resets it on every lease):
+ *
+ * <pre>
+ * WaitPolicy lookups = new WaitPolicy(driver);
+ * List&lt;WebElement&gt; items = lookups.findAll(By.cssSelector("#ui-id-1 li"), Duration.ofSeconds(2));
+ * boolean closed = lookups.isAbsent(By.cssSelector("#ui-id-1 li"));   // one round-trip, no waiting
+ * </pre>
+ *
+ * Lookups that run out of budget are counted per locator and logged as
+ * wait.deadline events, so budgets that are too tight (or elements that
+ * never show up) are visible in report().
+ */
+public class WaitPolicy {
+
+    private final WebDriver driver;
+    private final ConditionWait waits;
+    private final EventLog log = EventLog.shared();
+    private final Map<String, Integer> deadlineHits = new LinkedHashMap<>();
+
+    private int lookups;
+    private long deadlineMs;
+
+    public WaitPolicy(WebDriver driver) {
+        this(driver, new ConditionWait(driver, Duration.ZERO));
+    }
+
+    /** Share an existing ConditionWait so its poll pacing and statistics cover these lookups too */
+    public WaitPolicy(WebDriver driver, ConditionWait waits) {
+        this.driver = driver;
+        this.waits = waits;
+    }
+
+    /** First match, waiting up to the budget for one to appear */
+    public WebElement find(By locator, Duration budget) {
+        List<WebElement> found = findAll(locator, budget);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No element within " + budget.toMillis() + " ms: " + locator);
+        }
+        return found.get(0);
+    }
+
+    /** All matches as soon as there is at least one, or an empty list once the budget is spent */
+    public List<WebElement> findAll(By locator, Duration budget) {
+        lookups++;
+        if (budget.isZero()) {
+            return driver.findElements(locator);
+        }
+        try {
+            return waits.until(d -> {
+                List<WebElement> found = d.findElements(locator);
+                return found.isEmpty() ? null : found;
+            }, budget, 0);
+        } catch (TimeoutException e) {
+            deadlineHit(locator, budget);
+            return List.of();
+        }
+    }
+
+    /** Zero-budget negative check: a single findElements, true if nothing matches */
+    public boolean isAbsent(By locator) {
+        return findAll(locator, Duration.ZERO).isEmpty();
+    }
+
+    /** Wait up to the budget for every match to disappear; false if some are still there */
+    public boolean isAbsent(By locator, Duration budget) {
+        lookups++;
+        try {
+            return waits.until(d -> d.findElements(locator).isEmpty(), budget, 0);
+        } catch (TimeoutException e) {
+            deadlineHit(locator, budget);
+            return false;
+        }
+    }
+
+    private void deadlineHit(By locator, Duration budget) {
+        deadlineHits.merge(locator.toString(), 1, Integer::sum);
+        deadlineMs += budget.toMillis();
+        log.warn("wait.deadline", "locator", locator.toString(), "budgetMs", String.valueOf(budget.toMillis()));
+    }
+
+    public int getLookups() {
+        return lookups;
+    }
+
+    /** Lookups that ran out of budget, per locator */
+    public Map<String, Integer> getDeadlineHits() {
+        return deadlineHits;
+    }
+
+    public String report() {
+        int hits = deadlineHits.values().stream().mapToInt(Integer::intValue).sum();
+        StringBuilder report = new StringBuilder("Lookups: " + lookups + ", deadline hits: " + hits
+                + " (" + deadlineMs + " ms of budget spent)");
+        deadlineHits.forEach((locator, count) -> report.append("\n  ").append(locator).append(" x").append(count));
+        return report.toString();
+    }
+}
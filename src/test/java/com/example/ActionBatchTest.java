@@ -0,0 +1,79 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * The step list a batch sends and how per-step results are reported. The
+ * batch script is answered with canned results, so the clicks, typing and
+ * post-condition checks it performs in the page are not exercised.
+ */
+public class ActionBatchTest {
+
+    /** Driver stub recording the steps of each script call and answering with the given results */
+    private static WebDriver scriptDriver(List<List<Map<String, Object>>> calls, List<Map<String, Object>> results) {
+        return new StubDriver().on("executeScript", args -> {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> steps = (List<Map<String, Object>>) ((Object[]) args[1])[0];
+            calls.add(new ArrayList<>(steps));
+            return results;
+        }).build();
+    }
+
+    private static Map<String, Object> ok(String actual) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("ok", true);
+        result.put("actual", actual);
+        return result;
+    }
+
+    @Test
+    public void flushesAllStepsInOneScript() {
+        List<List<Map<String, Object>>> calls = new ArrayList<>();
+        List<Map<String, Object>> results = List.of(ok(null), ok(null), ok(null), ok(null), ok("5 Adult"), ok(null));
+        ActionBatch batch = new ActionBatch(scriptDriver(calls, results))
+                .click("#divpaxinfo")
+                .click("#hrefIncAdt").times(4).expectText("#divpaxinfo", "5 Adult")
+                .click("#btnclosepaxoption");
+        Assert.assertEquals(batch.size(), 6);
+
+        ActionBatch.Result result = batch.flush();
+        Assert.assertEquals(calls.size(), 1);
+        Assert.assertTrue(result.passed(), result.toString());
+        List<Map<String, Object>> steps = calls.get(0);
+        Assert.assertNull(steps.get(1).get("expect"), "only the last repeat carries the post-condition");
+        Assert.assertEquals(steps.get(4).get("expect"), "text");
+        Assert.assertEquals(steps.get(4).get("expected"), "5 Adult");
+        Assert.assertEquals(result.steps().get(4).actual(), "5 Adult");
+        Assert.assertEquals(batch.size(), 0, "flush clears the queue");
+    }
+
+    @Test
+    public void reportsFailedAndSkippedSteps() {
+        Map<String, Object> failed = new HashMap<>();
+        failed.put("ok", false);
+        failed.put("actual", "true");
+        List<List<Map<String, Object>>> calls = new ArrayList<>();
+        ActionBatch.Result result = new ActionBatch(scriptDriver(calls, List.of(ok("true"), failed)))
+                .click("#a").expectChecked(true)
+                .click("#a").expectChecked(false)
+                .type("#name", "Rahul").expectValue("Rahul")
+                .flush();
+
+        Assert.assertFalse(result.passed());
+        Assert.assertEquals(result.failures().size(), 2);
+        Assert.assertEquals(result.failures().get(0).description(), "click #a, expect checked = false");
+        Assert.assertEquals(result.failures().get(1).error(), "not run");
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void expectationNeedsAStep() {
+        new ActionBatch(scriptDriver(new ArrayList<>(), List.of())).expectChecked(true);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.remote.http.Contents;
+import org.openqa.selenium.remote.http.HttpHandler;
+import org.openqa.selenium.remote.http.HttpMethod;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class AssetCacheTest {
+    private Path directory;
+    private AtomicInteger networkCalls;
+    private HttpHandler network;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("asset-cache");
+        networkCalls = new AtomicInteger();
+        // Fake network: body is the URL itself, except for /same/ URLs which share one body
+        network = request -> {
+            networkCalls.incrementAndGet();
+            String body = request.getUri().contains("/same/") ? "shared body" : request.getUri();
+            return new HttpResponse().setStatus(200).setHeader("Content-Type", "text/plain")
+                    .setHeader("Access-Control-Allow-Origin", "*").setHeader("Content-Length", "999")
+                    .setContent(Contents.utf8String(body));
+        };
+    }
+
+    private String fetch(AssetCache cache, String url) {
+        HttpResponse response = cache.filter().apply(network).execute(new HttpRequest(HttpMethod.GET, url));
+        return Contents.string(response);
+    }
+
+    @Test
+    public void secondRequestIsServedFromDisk() {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        Assert.assertEquals(fetch(cache, "http://site/app.js"), "http://site/app.js");
+        Assert.assertEquals(fetch(cache, "http://site/app.js"), "http://site/app.js");
+        Assert.assertEquals(networkCalls.get(), 1);
+    }
+
+    @Test
+    public void manifestSurvivesRestart() {
+        AssetCache first = new AssetCache(directory, 1024 * 1024);
+        fetch(first, "http://site/style.css");
+        first.flush();
+
+        AssetCache second = new AssetCache(directory, 1024 * 1024);
+        Assert.assertEquals(fetch(second, "http://site/style.css"), "http://site/style.css");
+        Assert.assertEquals(networkCalls.get(), 1);
+    }
+
+    @Test
+    public void identicalBodiesAreStoredOnce() {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        fetch(cache, "http://site/same/a.png");
+        fetch(cache, "http://site/same/b.png");
+        Assert.assertEquals(cache.size(), 2);
+        Assert.assertEquals(cache.getStoredBytes(), "shared body".length());
+    }
+
+    @Test
+    public void leastRecentlyUsedUrlIsEvicted() {
+        // Room for two 16-byte bodies only
+        AssetCache cache = new AssetCache(directory, 40);
+        fetch(cache, "http://site/1234");
+        fetch(cache, "http://site/5678");
+        fetch(cache, "http://site/1234");   // touch, so 5678 is now the oldest
+        fetch(cache, "http://site/abcd");
+        Assert.assertEquals(cache.size(), 2);
+
+        int before = networkCalls.get();
+        fetch(cache, "http://site/1234");
+        Assert.assertEquals(networkCalls.get(), before, "Recently used URL should still be cached");
+        fetch(cache, "http://site/5678");
+        Assert.assertEquals(networkCalls.get(), before + 1, "Oldest URL should have been evicted");
+    }
+
+    @Test
+    public void invalidateForcesRefetch() {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        fetch(cache, "http://site/page/index.html");
+        Assert.assertEquals(cache.invalidate("http://site/page/"), 1);
+        fetch(cache, "http://site/page/index.html");
+        Assert.assertEquals(networkCalls.get(), 2);
+    }
+
+    @Test
+    public void documentsAndJsonAlwaysGoToTheNetwork() {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        HttpHandler pages = request -> {
+            networkCalls.incrementAndGet();
+            String type = request.getUri().endsWith(".json") ? "application/problem+json" : "text/html; charset=utf-8";
+            return new HttpResponse().setStatus(200).setHeader("Content-Type", type)
+                    .setContent(Contents.utf8String("call " + networkCalls.get()));
+        };
+        for (String url : List.of("http://site/AutomationPractice/", "http://site/api/rows.json")) {
+            HttpRequest request = new HttpRequest(HttpMethod.GET, url);
+            String first = Contents.string(cache.filter().apply(pages).execute(request));
+            String second = Contents.string(cache.filter().apply(pages).execute(request));
+            Assert.assertNotEquals(second, first, "A changed " + url + " must not be hidden by a replay");
+        }
+        Assert.assertEquals(networkCalls.get(), 4);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void responseHeadersAreReplayedOnHit() {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        fetch(cache, "http://fonts.site/icons.woff2");
+        HttpResponse hit = cache.filter().apply(network)
+                .execute(new HttpRequest(HttpMethod.GET, "http://fonts.site/icons.woff2"));
+        Assert.assertEquals(hit.getHeader("X-Asset-Cache"), "hit");
+        Assert.assertEquals(hit.getHeader("Access-Control-Allow-Origin"), "*");
+        Assert.assertEquals(hit.getHeader("Content-Type"), "text/plain");
+        Assert.assertNull(hit.getHeader("Content-Length"), "Length of the original transfer is not replayed");
+
+        cache.flush();
+        HttpResponse afterRestart = new AssetCache(directory, 1024 * 1024).filter().apply(network)
+                .execute(new HttpRequest(HttpMethod.GET, "http://fonts.site/icons.woff2"));
+        Assert.assertEquals(afterRestart.getHeader("Access-Control-Allow-Origin"), "*");
+        Assert.assertEquals(networkCalls.get(), 1);
+    }
+
+    @Test
+    public void parallelMissesOfTheSameUrlKeepTheObject() throws Exception {
+        AssetCache cache = new AssetCache(directory, 1024 * 1024);
+        // Both requests reach the network before either stores, like two sessions loading the same page
+        CountDownLatch bothMissed = new CountDownLatch(2);
+        HttpHandler slowNetwork = request -> {
+            bothMissed.countDown();
+            try {
+                bothMissed.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return network.execute(request);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<HttpResponse>> responses = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                responses.add(executor.submit(() -> cache.filter().apply(slowNetwork)
+                        .execute(new HttpRequest(HttpMethod.GET, "http://site/app.js"))));
+            }
+            for (Future<HttpResponse> future : responses) {
+                HttpResponse response = future.get(5, TimeUnit.SECONDS);
+                Assert.assertEquals(Contents.string(response), "http://site/app.js");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(networkCalls.get(), 2);
+        Assert.assertEquals(fetch(cache, "http://site/app.js"), "http://site/app.js");
+        Assert.assertEquals(networkCalls.get(), 2, "Third request should be a hit");
+        Assert.assertEquals(cache.size(), 1);
+        Assert.assertEquals(cache.getStoredBytes(), "http://site/app.js".length());
+    }
+
+    @Test
+    public void orphanedObjectsAreSweptOnStart() throws Exception {
+        Path orphan = directory.resolve("objects").resolve("ab").resolve("ab" + "0".repeat(62));
+        Files.createDirectories(orphan.getParent());
+        Files.writeString(orphan, "left behind by a failed delete");
+        Files.setLastModifiedTime(orphan, FileTime.fromMillis(System.currentTimeMillis() - 2 * 60 * 60 * 1000));
+
+        new AssetCache(directory, 1024 * 1024);
+        Assert.assertFalse(Files.exists(orphan));
+    }
+}
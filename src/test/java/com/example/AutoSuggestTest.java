@@ -0,0 +1,83 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * The arm / type / pick sequence and how the pick script's answer and
+ * latencies are recorded. Both scripts are stubbed, so the in-page
+ * observer, the option matching and the latency measurement are not run.
+ */
+public class AutoSuggestTest {
+
+    /** Driver stub: records the command sequence and answers the pick script with the given result */
+    private static WebDriver driver(List<String> commands, Map<String, Object> pickResult) {
+        WebElement field = StubDriver.element((method, args) -> {
+            commands.add(method + (args.length == 0 ? "" : " " + String.join("", (CharSequence[]) args[0])));
+            return null;
+        });
+        return new StubDriver()
+                .returning("findElement", field)
+                .on("executeScript", args -> {
+                    commands.add("arm");
+                    return null;
+                })
+                .on("executeAsyncScript", args -> {
+                    commands.add("pick " + ((Object[]) args[1])[0]);
+                    return pickResult;
+                })
+                .build();
+    }
+
+    @Test
+    public void picksInTheScriptThatSeesTheList() {
+        AutoSuggest.reset();
+        List<String> commands = new ArrayList<>();
+        Map<String, Object> result = Map.of("picked", "India", "timedOut", false,
+                "options", List.of("British Indian Ocean Territory", "India", "Indonesia"), "value", "India",
+                "latencies", List.of(Map.of("prefix", "ind", "micros", 312_000L)));
+
+        AutoSuggest.Pick pick = new AutoSuggest(driver(commands, result), By.id("autosuggest"))
+                .pick("ind", "India", Duration.ofSeconds(2));
+
+        Assert.assertEquals(commands, List.of("arm", "sendKeys ind", "pick India"));
+        Assert.assertTrue(pick.isPicked());
+        Assert.assertEquals(pick.options().size(), 3);
+        Assert.assertEquals(pick.value(), "India");
+        Assert.assertEquals(AutoSuggest.getLatencies().get("ind").getCount(), 1);
+    }
+
+    @Test
+    public void reportsLatencyPercentilesPerPrefix() {
+        AutoSuggest.reset();
+        for (int i = 1; i <= 100; i++) {
+            AutoSuggest.record("in", i * 1_000L);
+        }
+        AutoSuggest.record("ind", 300_000L);
+
+        LatencyHistogram in = AutoSuggest.getLatencies().get("in");
+        Assert.assertEquals(in.percentile(50), 50_000, 50_000 / 64);
+        String report = AutoSuggest.report();
+        Assert.assertTrue(report.contains("'in'") && report.contains("'ind'"), report);
+    }
+
+    @Test
+    public void timeoutLeavesNothingPicked() {
+        AutoSuggest.reset();
+        Map<String, Object> result = Map.of("timedOut", true, "options", List.of(), "value", "xyz",
+                "latencies", List.of());
+        AutoSuggest.Pick pick = new AutoSuggest(driver(new ArrayList<>(), result), By.id("autosuggest"))
+                .pick("xyz", "India", Duration.ofMillis(500));
+        Assert.assertFalse(pick.isPicked());
+        Assert.assertTrue(pick.timedOut());
+        Assert.assertTrue(AutoSuggest.getLatencies().isEmpty());
+    }
+}
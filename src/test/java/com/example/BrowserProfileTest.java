@@ -0,0 +1,70 @@
+package com.example;
+
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Options each profile hands to Chrome. No browser is launched, so whether
+ * Chrome honours the flags, and the CDP blocking launch() sets up, is not
+ * checked here.
+ */
+public class BrowserProfileTest {
+
+    private static List<?> args(BrowserProfile profile) {
+        Map<?, ?> chrome = (Map<?, ?>) profile.options().asMap().get(ChromeOptions.CAPABILITY);
+        return (List<?>) chrome.get("args");
+    }
+
+    private static String pageLoadStrategy(BrowserProfile profile) {
+        return String.valueOf(profile.options().getCapability("pageLoadStrategy"));
+    }
+
+    @Test
+    public void fullIsHeadedWithEverythingLoaded() {
+        Assert.assertTrue(args(BrowserProfile.FULL).isEmpty(), args(BrowserProfile.FULL).toString());
+        Assert.assertEquals(pageLoadStrategy(BrowserProfile.FULL), "normal");
+        Assert.assertFalse(BrowserProfile.FULL.blocksNonEssential());
+    }
+
+    @Test
+    public void headlessKeepsTheFullPage() {
+        List<?> args = args(BrowserProfile.HEADLESS);
+        Assert.assertEquals(args, List.of("--headless=new", "--window-size=1366,768"));
+        Assert.assertEquals(pageLoadStrategy(BrowserProfile.HEADLESS), "normal");
+        Assert.assertFalse(BrowserProfile.HEADLESS.blocksNonEssential());
+    }
+
+    @Test
+    public void leanTrimsTheBrowserAndBlocksTrackers() {
+        List<?> args = args(BrowserProfile.LEAN);
+        Assert.assertTrue(args.containsAll(List.of("--headless=new", "--window-size=1280,800",
+                "--blink-settings=imagesEnabled=false", "--disable-gpu", "--disable-remote-fonts")), args.toString());
+        Assert.assertFalse(args.contains("--disable-extensions"), "Extensions are only switched off by MINIMAL");
+        Assert.assertEquals(pageLoadStrategy(BrowserProfile.LEAN), "eager");
+        Assert.assertTrue(BrowserProfile.LEAN.blocksNonEssential());
+    }
+
+    @Test
+    public void minimalAlsoSwitchesOffBackgroundWork() {
+        List<?> args = args(BrowserProfile.MINIMAL);
+        Assert.assertTrue(args.containsAll(List.of("--headless=new", "--window-size=800,600",
+                "--blink-settings=imagesEnabled=false", "--disable-extensions", "--disable-background-networking",
+                "--mute-audio")), args.toString());
+        Assert.assertEquals(pageLoadStrategy(BrowserProfile.MINIMAL), "eager");
+        Assert.assertTrue(BrowserProfile.MINIMAL.blocksNonEssential());
+        Assert.assertTrue(BrowserProfile.BLOCKLIST.contains("*google-analytics.com*"));
+    }
+
+    @Test
+    public void unknownNameListsTheValidProfiles() {
+        Assert.assertEquals(BrowserProfile.forName(" lean "), BrowserProfile.LEAN);
+        IllegalArgumentException e = Assert.expectThrows(IllegalArgumentException.class,
+                () -> BrowserProfile.forName("fast"));
+        Assert.assertEquals(e.getMessage(),
+                "Unknown browser.profile 'fast', expected one of FULL, HEADLESS, LEAN, MINIMAL");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * CheckboxFixed.toggle on a stub page with a label and a hidden input. The
+ * stub answers the chain's batched lookup script in Java and treats the
+ * "arguments[0].click();" script as a click on its argument; neither script
+ * runs in a browser here.
+ */
+public class CheckboxFixedTest {
+
+    private static final By INPUT = By.id("SeniorCitizenDiscount");
+    private static final LocatorChain.Candidate LABEL = LocatorChain.xpath("//label");
+    private static final LocatorChain.Candidate HIDDEN_INPUT = LocatorChain.id("SeniorCitizenDiscount");
+
+    private Path file;
+    private AtomicBoolean checked;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        file = Files.createTempFile("locator-ranking", ".properties");
+        checked = new AtomicBoolean();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /** Element whose click flips the checkbox only if wired is true */
+    private WebElement clickable(String tag, boolean displayed, boolean wired) {
+        return StubDriver.element((method, args) -> switch (method) {
+            case "getTagName" -> tag;
+            case "isDisplayed" -> displayed;
+            case "isSelected" -> checked.get();
+            case "click" -> {
+                if (wired) {
+                    checked.set(!checked.get());
+                }
+                yield null;
+            }
+            default -> null;
+        });
+    }
+
+    /** Page where the label click is wired or not, and the hidden input always toggles */
+    private WebDriver page(boolean labelWired) {
+        WebElement label = clickable("label", true, labelWired);
+        WebElement input = clickable("input", false, true);
+        return new StubDriver()
+                .on("findElement", args -> input)
+                .on("findElements", args -> args[0].toString().contains("label") ? List.of(label) : List.of(input))
+                .on("executeScript", args -> {
+                    Object argument = ((Object[]) args[1])[0];
+                    if (argument instanceof WebElement element) {
+                        element.click();
+                        return null;
+                    }
+                    // Batch lookup without the label: the input is the next candidate
+                    return List.of(0, List.of(input));
+                })
+                .build();
+    }
+
+    private LocatorRanking rankingWithLabelFirst() {
+        LocatorRanking ranking = new LocatorRanking(file);
+        ranking.record("seniorCitizenCheckbox", LABEL.key(), 1);
+        return ranking;
+    }
+
+    @Test
+    public void workingLabelStaysTheWinner() {
+        LocatorRanking ranking = rankingWithLabelFirst();
+        LocatorChain chain = new LocatorChain("seniorCitizenCheckbox", ranking, LABEL, HIDDEN_INPUT);
+
+        Assert.assertTrue(CheckboxFixed.toggle(page(true), chain, INPUT));
+        Assert.assertTrue(checked.get());
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), LABEL.key());
+    }
+
+    @Test
+    public void deadLabelFallsBackToTheNextCandidate() {
+        LocatorRanking ranking = rankingWithLabelFirst();
+        LocatorChain chain = new LocatorChain("seniorCitizenCheckbox", ranking, LABEL, HIDDEN_INPUT);
+
+        Assert.assertTrue(CheckboxFixed.toggle(page(false), chain, INPUT), "The input's JS click should be tried");
+        Assert.assertTrue(checked.get());
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), HIDDEN_INPUT.key(),
+                "Only the candidate whose click changed the state is remembered");
+    }
+
+    @Test
+    public void clickThatChangesNothingIsNotASuccess() {
+        LocatorRanking ranking = rankingWithLabelFirst();
+        LocatorChain chain = new LocatorChain("seniorCitizenCheckbox", ranking, LABEL);
+
+        Assert.assertFalse(CheckboxFixed.toggle(page(false), chain, INPUT));
+        Assert.assertFalse(checked.get());
+        Assert.assertNull(ranking.winner("seniorCitizenCheckbox"), "The dud winner is forgotten");
+    }
+}
@@ -0,0 +1,90 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class CommandTimingsTest {
+
+    /** Driver stub: getTitle works, findElement always fails */
+    private static WebDriver stubDriver() {
+        return new StubDriver()
+                .returning("getTitle", "Practice Page")
+                .on("findElement", args -> {
+                    throw new NoSuchElementException("missing");
+                })
+                .build();
+    }
+
+    @Test
+    public void recordsCommandsPerTag() {
+        CommandTimings timings = new CommandTimings();
+        WebDriver driver = timings.decorate(stubDriver());
+
+        String previous = CommandTimings.tag("testTitle");
+        try {
+            driver.getTitle();
+            driver.getTitle();
+            Assert.assertThrows(NoSuchElementException.class, () -> driver.findElement(By.id("nope")));
+        } finally {
+            CommandTimings.tag(previous);
+        }
+        driver.getTitle();
+
+        Assert.assertEquals(timings.getRoundTrips("testTitle"), 3);
+        Assert.assertEquals(timings.getStats("testTitle").get("getTitle").getLatency().getCount(), 2);
+        Assert.assertEquals(timings.getStats("testTitle").get("findElement").getErrors(), 1);
+        Assert.assertEquals(timings.getRoundTrips(CommandTimings.currentTag()), 1);
+        Assert.assertTrue(timings.report().contains("testTitle: 3 round-trips"), timings.report());
+    }
+
+    @Test
+    public void helperGettersAreNotRoundTrips() {
+        CommandTimings timings = new CommandTimings();
+        WebDriver driver = timings.decorate(stubDriver());
+
+        String previous = CommandTimings.tag("testIFrame");
+        try {
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            driver.switchTo().defaultContent();
+            driver.navigate().refresh();
+        } finally {
+            CommandTimings.tag(previous);
+        }
+
+        Assert.assertEquals(timings.getStats("testIFrame").keySet(),
+                Set.of("Timeouts.implicitlyWait", "TargetLocator.defaultContent", "Navigation.refresh"));
+        Assert.assertEquals(timings.getRoundTrips("testIFrame"), 3);
+    }
+
+    @Test
+    public void threadCountersAreNotSharedByRowsWithTheSameTag() throws Exception {
+        CommandTimings timings = new CommandTimings();
+        WebDriver driver = timings.decorate(stubDriver());
+        long[] perRow = new long[2];
+        Thread[] rows = new Thread[2];
+        for (int row = 0; row < 2; row++) {
+            int index = row;
+            rows[row] = new Thread(() -> {
+                String previous = CommandTimings.tag("TestPractise2.getData");
+                long start = CommandTimings.getCurrentThreadRoundTrips();
+                for (int i = 0; i <= index * 2; i++) {
+                    driver.getTitle();
+                }
+                perRow[index] = CommandTimings.getCurrentThreadRoundTrips() - start;
+                CommandTimings.tag(previous);
+            });
+            rows[row].start();
+        }
+        for (Thread row : rows) {
+            row.join();
+        }
+        Assert.assertEquals(perRow, new long[] {1, 3});
+        Assert.assertEquals(timings.getRoundTrips("TestPractise2.getData"), 4);
+    }
+}
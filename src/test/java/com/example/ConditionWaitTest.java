@@ -0,0 +1,106 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ConditionWaitTest {
+
+    /** Fake time: only moves when the wait sleeps, and every sleep is kept */
+    private static final class FakeClock {
+        long nanos;
+        final List<Long> sleepsMs = new ArrayList<>();
+
+        ConditionWait waitFor(Duration timeout) {
+            WebDriver driver = new StubDriver().build();
+            return new ConditionWait(driver, timeout, () -> nanos, duration -> {
+                sleepsMs.add(duration.toMillis());
+                nanos += duration.toNanos();
+            });
+        }
+    }
+
+    @Test
+    public void pollIntervalDoublesUpToTheCap() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(3));
+
+        Assert.assertThrows(TimeoutException.class, () -> wait.until(d -> false, 0));
+        // First poll at a quarter of the 100 ms default settle estimate, never more than 500 ms apart
+        Assert.assertEquals(clock.sleepsMs.subList(0, 7), List.of(25L, 50L, 100L, 200L, 400L, 500L, 500L));
+        Assert.assertTrue(clock.sleepsMs.stream().allMatch(ms -> ms <= 500), clock.sleepsMs.toString());
+        Assert.assertEquals(clock.sleepsMs.stream().mapToLong(Long::longValue).sum(), 3000,
+                "The last sleep is cut to what is left of the budget");
+    }
+
+    @Test
+    public void fastConditionsShortenTheFirstPoll() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(1));
+        Assert.assertEquals(wait.until(d -> "ready", 0), "ready");
+        Assert.assertTrue(clock.sleepsMs.isEmpty());
+
+        AtomicInteger polls = new AtomicInteger();
+        wait.until(d -> polls.incrementAndGet() == 2, 0);
+        // Settle estimate 0.7 * 100 ms after an instant wait, polled at a quarter of that
+        Assert.assertEquals(clock.sleepsMs, List.of(17L));
+    }
+
+    @Test
+    public void timeoutNamesTheBudgetAndTheCondition() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(15));
+        TimeoutException e = Assert.expectThrows(TimeoutException.class,
+                () -> wait.until(d -> null, Duration.ofMillis(1200), 2000));
+        Assert.assertTrue(e.getMessage().startsWith("Condition not met within 1200 ms: "), e.getMessage());
+        Assert.assertEquals(wait.getWaits(), 1);
+        Assert.assertEquals(wait.getWaitedMs(), 1200);
+        Assert.assertEquals(wait.getSavedMs(), 800);
+    }
+
+    @Test
+    public void notYetThereExceptionsKeepPolling() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(5));
+        AtomicInteger polls = new AtomicInteger();
+        String value = wait.until(d -> switch (polls.incrementAndGet()) {
+            case 1 -> throw new NoSuchElementException("not rendered");
+            case 2 -> throw new StaleElementReferenceException("re-rendered");
+            case 3 -> throw new NoAlertPresentException();
+            default -> "found";
+        }, 0);
+        Assert.assertEquals(value, "found");
+        Assert.assertEquals(clock.sleepsMs.size(), 3);
+    }
+
+    @Test
+    public void otherDriverErrorsFailAtOnce() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(5));
+        Assert.assertThrows(WebDriverException.class, () -> wait.until(d -> {
+            throw new WebDriverException("session deleted");
+        }, 0));
+        Assert.assertTrue(clock.sleepsMs.isEmpty());
+    }
+
+    @Test
+    public void zeroBudgetChecksOnce() {
+        FakeClock clock = new FakeClock();
+        ConditionWait wait = clock.waitFor(Duration.ofSeconds(5));
+        AtomicInteger polls = new AtomicInteger();
+        Assert.assertThrows(TimeoutException.class, () -> wait.until(d -> polls.incrementAndGet() > 1,
+                Duration.ZERO, 0));
+        Assert.assertEquals(polls.get(), 1);
+        Assert.assertTrue(clock.sleepsMs.isEmpty());
+    }
+}
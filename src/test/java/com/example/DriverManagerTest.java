@@ -0,0 +1,67 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+public class DriverManagerTest {
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        DriverManager.release();
+        DriverManager.usePool(null);
+    }
+
+    @Test
+    public void threadsGetTheirOwnSessionsBackFromThePool() throws Exception {
+        List<WebDriver> launched = new ArrayList<>();
+        DriverPool pool = new DriverPool(() -> {
+            WebDriver session = new StubDriver().returning("getWindowHandles", Set.of("main")).build();
+            synchronized (launched) {
+                launched.add(session);
+            }
+            return session;
+        }, 2);
+        DriverManager.usePool(pool);
+
+        // Both threads hold their session at once, as parallel test methods would
+        CountDownLatch bothLeased = new CountDownLatch(2);
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<Boolean>> sameDriver = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                sameDriver.add(threads.submit(() -> {
+                    WebDriver driver = DriverManager.driver();
+                    bothLeased.countDown();
+                    bothLeased.await(5, TimeUnit.SECONDS);
+                    boolean same = DriverManager.driver() == driver && DriverManager.hasDriver();
+                    DriverManager.release();
+                    return same && !DriverManager.hasDriver();
+                }));
+            }
+            for (Future<Boolean> same : sameDriver) {
+                Assert.assertTrue(same.get(5, TimeUnit.SECONDS), "A thread keeps its driver until release()");
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Assert.assertEquals(launched.size(), 2, "Each thread leased a session of its own");
+        Assert.assertEquals(pool.getLeasedCount(), 0);
+        Assert.assertEquals(pool.getIdleCount(), 2, "release() hands both sessions back");
+
+        DriverManager.driver();
+        Assert.assertEquals(launched.size(), 2, "The next thread reuses a released session");
+        Assert.assertEquals(pool.getLeaseCount(), 3);
+    }
+}
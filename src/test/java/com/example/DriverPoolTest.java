@@ -0,0 +1,105 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class DriverPoolTest {
+
+    /** Pool factory launching stub sessions, each added to {@code launched} */
+    private static Supplier<WebDriver> launcher(List<StubDriver> launched) {
+        return () -> {
+            StubDriver stub = new StubDriver().returning("getWindowHandles", Set.of("main"));
+            synchronized (launched) {
+                launched.add(stub);
+            }
+            return stub.build();
+        };
+    }
+
+    @Test
+    public void leaseWaitsWhenEverySessionIsOut() {
+        List<StubDriver> launched = new ArrayList<>();
+        DriverPool pool = new DriverPool(launcher(launched), 1);
+        WebDriver first = pool.lease();
+        Assert.assertThrows(IllegalStateException.class, () -> pool.lease(Duration.ofMillis(50)));
+        Assert.assertEquals(launched.size(), 1, "The cap must not be exceeded while waiting");
+
+        pool.release(first);
+        Assert.assertSame(pool.lease(Duration.ofMillis(50)), first, "The released session is reused");
+        Assert.assertEquals(launched.size(), 1);
+        Assert.assertEquals(pool.getLeaseCount(), 2);
+    }
+
+    @Test
+    public void poisonedSessionIsReplaced() {
+        List<StubDriver> launched = new ArrayList<>();
+        DriverPool pool = new DriverPool(launcher(launched), 1);
+        WebDriver first = pool.lease();
+        pool.release(first);
+        launched.get(0).on("getWindowHandle", args -> {
+            throw new WebDriverException("session deleted because of page crash");
+        });
+
+        WebDriver second = pool.lease(Duration.ofMillis(50));
+        Assert.assertNotSame(second, first);
+        Assert.assertEquals(launched.size(), 2);
+        Assert.assertEquals(pool.getEvictionCount(), 1);
+        Assert.assertTrue(launched.get(0).commands().contains("quit"), "The dead session is quit");
+    }
+
+    @Test
+    public void sessionThatFailsToResetIsEvicted() {
+        List<StubDriver> launched = new ArrayList<>();
+        DriverPool pool = new DriverPool(launcher(launched), 1);
+        WebDriver first = pool.lease();
+        launched.get(0).on("Options.deleteAllCookies", args -> {
+            throw new WebDriverException("no such window");
+        });
+        pool.release(first);
+
+        Assert.assertEquals(pool.getIdleCount(), 0);
+        Assert.assertEquals(pool.getEvictionCount(), 1);
+        Assert.assertNotSame(pool.lease(Duration.ofMillis(50)), first);
+    }
+
+    @Test
+    public void releaseResetsWindowsFramesAndStorage() {
+        StubDriver stub = new StubDriver().returning("getWindowHandles", new LinkedHashSet<>(List.of("main", "popup")));
+        DriverPool pool = new DriverPool(stub::build, 1);
+        pool.release(pool.lease());
+
+        List<String> commands = stub.commands();
+        Assert.assertEquals(commands.stream().filter("close"::equals).count(), 1, "Only the extra window is closed");
+        Assert.assertTrue(commands.containsAll(List.of("TargetLocator.defaultContent", "Options.deleteAllCookies",
+                "Timeouts.implicitlyWait", "Timeouts.scriptTimeout", "executeScript")), commands.toString());
+        Assert.assertEquals(pool.getIdleCount(), 1);
+    }
+
+    @Test
+    public void chromiumSessionClearsCookiesOfEveryOrigin() {
+        AtomicBoolean cleared = new AtomicBoolean();
+        StubDriver stub = new StubDriver().implementing(HasCdp.class)
+                .returning("getWindowHandles", Set.of("main"))
+                .on("executeCdpCommand", args -> {
+                    cleared.set("Network.clearBrowserCookies".equals(args[0]));
+                    return null;
+                });
+        DriverPool pool = new DriverPool(stub::build, 1);
+        pool.release(pool.lease());
+
+        Assert.assertTrue(cleared.get());
+        Assert.assertFalse(stub.commands().contains("Options.deleteAllCookies"),
+                "CDP replaces the current-domain-only delete");
+    }
+}
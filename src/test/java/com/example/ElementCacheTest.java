@@ -0,0 +1,91 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * ElementCache against a stub driver. The stub answers the observer script
+ * with a canned "token:removals:additions" state, so these tests cover how
+ * the cache reacts to that state; whether the injected MutationObserver
+ * counts removals and additions correctly in a real DOM is not checked here.
+ */
+public class ElementCacheTest {
+
+    private AtomicReference<String> domState;
+    private List<WebElement> rows;
+    private AtomicInteger finds;
+    private AtomicInteger findAlls;
+
+    @BeforeMethod
+    public void setUp() {
+        domState = new AtomicReference<>("doc:0:0");
+        rows = new ArrayList<>();
+        finds = new AtomicInteger();
+        findAlls = new AtomicInteger();
+    }
+
+    private ElementCache cache() {
+        StubDriver stub = new StubDriver()
+                .on("executeScript", args -> domState.get())
+                .on("findElement", args -> {
+                    finds.incrementAndGet();
+                    return StubDriver.element((method, a) -> null);
+                })
+                .on("findElements", args -> {
+                    findAlls.incrementAndGet();
+                    return List.copyOf(rows);
+                });
+        ElementCache cache = new ElementCache(stub.build());
+        cache.onPage("https://practice/");
+        return cache;
+    }
+
+    @Test
+    public void addedNodesRefreshListsButKeepSingleReferences() {
+        ElementCache cache = cache();
+        rows.add(StubDriver.element((method, args) -> null));
+        By table = By.id("product");
+        By row = By.cssSelector("#product tr");
+
+        WebElement header = cache.get(table);
+        Assert.assertEquals(cache.getAll(row).size(), 1);
+        Assert.assertEquals(cache.getAll(row).size(), 1);
+        Assert.assertEquals(findAlls.get(), 1, "Second getAll is a hit");
+
+        rows.add(StubDriver.element((method, args) -> null));
+        domState.set("doc:0:1");
+        Assert.assertTrue(cache.sync());
+        Assert.assertEquals(cache.getAll(row).size(), 2, "New rows must show up after an addition");
+        Assert.assertSame(cache.get(table), header, "Single references survive additions");
+        Assert.assertEquals(finds.get(), 1);
+
+        domState.set("doc:1:1");
+        Assert.assertTrue(cache.sync());
+        Assert.assertNotSame(cache.get(table), header, "Removals drop single references too");
+        Assert.assertFalse(cache.sync(), "Unchanged state keeps the cache");
+    }
+
+    @Test
+    public void entriesAreKeptPerFrame() {
+        ElementCache cache = cache();
+        By link = By.tagName("a");
+
+        WebElement topLink = cache.get(link);
+        cache.onFrame("courses-iframe");
+        WebElement frameLink = cache.get(link);
+        Assert.assertNotSame(frameLink, topLink, "A frame must not be served the top document's element");
+        Assert.assertSame(cache.get(link), frameLink);
+
+        cache.onDefaultContent();
+        Assert.assertSame(cache.get(link), topLink);
+        Assert.assertEquals(finds.get(), 2);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example;
+
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class EventLogTest {
+
+    private static List<String> lines(StringWriter out) {
+        return out.toString().lines().toList();
+    }
+
+    @Test
+    public void writesJsonLines() {
+        StringWriter out = new StringWriter();
+        try (EventLog log = new EventLog(out, 16, EventLog.Format.JSON)) {
+            log.info("radio.selected", "value", "option1");
+            log.info("table.row", "cells", "a \"quoted\" | b", "row", 2);
+            log.error("component.failed", "component", "testAlerts", "error", null);
+        }
+        List<String> lines = lines(out);
+        Assert.assertEquals(lines.size(), 3);
+        Assert.assertTrue(lines.get(0).matches("\\{\"ts\":\\d+,\"level\":\"INFO\",\"thread\":\"[^\"]+\","
+                + "\"event\":\"radio.selected\",\"value\":\"option1\"}"), lines.get(0));
+        Assert.assertTrue(lines.get(1).endsWith("\"cells\":\"a \\\"quoted\\\" | b\",\"row\":2}"), lines.get(1));
+        Assert.assertTrue(lines.get(2).contains("\"level\":\"ERROR\"") && lines.get(2).endsWith("\"error\":null}"),
+                lines.get(2));
+    }
+
+    @Test
+    public void writesTextLines() {
+        StringWriter out = new StringWriter();
+        try (EventLog log = new EventLog(out, 16, EventLog.Format.TEXT)) {
+            log.info("checkbox.found", "count", 3);
+        }
+        Assert.assertTrue(lines(out).get(0).endsWith("INFO  [" + Thread.currentThread().getName()
+                + "] checkbox.found count=3"), out.toString());
+    }
+
+    @Test
+    public void keepsEveryEventFromConcurrentProducers() throws Exception {
+        StringWriter out = new StringWriter();
+        int producers = 4;
+        int perProducer = 5_000;
+        // Small ring so producers have to wait for the writer now and then
+        try (EventLog log = new EventLog(out, 64, EventLog.Format.JSON)) {
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        log.info("tick", "i", i);
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            log.flush();
+            Assert.assertEquals(log.getEventCount(), producers * perProducer);
+        }
+        Assert.assertEquals(lines(out).size(), producers * perProducer);
+    }
+
+    @Test
+    public void emittingDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        String value = "option1";
+        try (EventLog log = new EventLog(new StringWriter(), 1 << 16, EventLog.Format.JSON)) {
+            for (int i = 0; i < 1_000; i++) {
+                log.info("warmup", "value", value, "i", i);
+            }
+            log.flush();
+
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < 20_000; i++) {
+                log.info("radio.selected", "value", value, "i", i);
+            }
+            long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+            // String concatenation per event would be well over a megabyte here
+            Assert.assertTrue(allocated < 64 * 1024, "Allocated " + allocated + " bytes on the test thread");
+        }
+    }
+
+    @Test
+    public void idleWriterParksUntilAnEventArrives() throws Exception {
+        StringWriter out = new StringWriter();
+        try (EventLog log = new EventLog(out, 16, EventLog.Format.TEXT)) {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            boolean parked = false;
+            while (!parked && System.nanoTime() < deadline) {
+                parked = Thread.getAllStackTraces().keySet().stream()
+                        .anyMatch(thread -> LockSupport.getBlocker(thread) == log);
+                Thread.sleep(5);
+            }
+            Assert.assertTrue(parked, "Idle writer should park on the log, not poll");
+
+            log.info("checkbox.found", "count", 3);
+            log.flush();
+            Assert.assertEquals(lines(out).size(), 1);
+        }
+    }
+}
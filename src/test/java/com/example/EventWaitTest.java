@@ -0,0 +1,103 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Which wait path EventWait takes (observer script, polling fallback,
+ * console polling) and what it returns. The MutationObserver and console
+ * hook scripts are answered with canned values, and the stub has no BiDi,
+ * so the observer logic and the BiDi listeners are not exercised here.
+ */
+public class EventWaitTest {
+
+    private static final WebElement ELEMENT = StubDriver.element((method, args) -> method.equals("isDisplayed"));
+
+    /** Driver stub without BiDi; every script, sync or async, is answered by the given supplier */
+    private static WebDriver driver(Supplier<Object> scripts, AtomicInteger finds) {
+        StubDriver.Handler script = args -> {
+            Object result = scripts.get();
+            if (result instanceof RuntimeException e) {
+                throw e;
+            }
+            return result;
+        };
+        return new StubDriver()
+                .on("executeScript", script)
+                .on("executeAsyncScript", script)
+                .on("findElement", args -> {
+                    finds.incrementAndGet();
+                    return ELEMENT;
+                })
+                .build();
+    }
+
+    @Test
+    public void elementComesFromOneObserverScript() {
+        AtomicInteger finds = new AtomicInteger();
+        EventWait events = EventWait.open(driver(() -> ELEMENT, finds));
+        Assert.assertFalse(events.isEventDriven());
+        Assert.assertSame(events.forElement(By.id("SeniorCitizen"), true, Duration.ofSeconds(5)), ELEMENT);
+        Assert.assertEquals(events.getEventWaits(), 1);
+        Assert.assertEquals(finds.get(), 0);
+    }
+
+    @Test
+    public void observerTimeoutIsReported() {
+        EventWait events = EventWait.open(driver(() -> null, new AtomicInteger()));
+        Assert.assertThrows(TimeoutException.class,
+                () -> events.forElement(By.xpath("//input[@id='never']"), false, Duration.ofMillis(100)));
+    }
+
+    @Test
+    public void fallsBackToPollingWhenScriptsFail() {
+        AtomicInteger finds = new AtomicInteger();
+        EventWait events = EventWait.open(driver(() -> new JavascriptException("blocked by CSP"), finds));
+        Assert.assertSame(events.forElement(By.cssSelector("#SeniorCitizen"), true, Duration.ofSeconds(1)), ELEMENT);
+        Assert.assertEquals(events.getPolledWaits(), 1);
+        Assert.assertEquals(finds.get(), 1);
+
+        Assert.assertSame(events.forElement(By.linkText("Top"), false, Duration.ofSeconds(1)), ELEMENT);
+        Assert.assertEquals(events.getPolledWaits(), 2, "link text cannot be observed");
+    }
+
+    @Test
+    public void closeRestoresTheScriptTimeout() {
+        List<Object> timeouts = new ArrayList<>();
+        WebDriver driver = new StubDriver()
+                .on("executeAsyncScript", args -> ELEMENT)
+                .on("Timeouts.scriptTimeout", args -> {
+                    timeouts.add(args[0]);
+                    return null;
+                })
+                .build();
+        EventWait events = EventWait.open(driver);
+        events.forElement(By.id("SeniorCitizen"), false, Duration.ofSeconds(60));
+        Assert.assertEquals(timeouts, List.of(Duration.ofSeconds(61)), "Raised past the 30 s default for the wait");
+
+        events.close();
+        Assert.assertEquals(timeouts, List.of(Duration.ofSeconds(61), Duration.ofSeconds(30)));
+        events.close();
+        Assert.assertEquals(timeouts.size(), 2, "Restored once");
+    }
+
+    @Test
+    public void consoleFallbackMatchesEachEntryOnce() {
+        AtomicInteger polls = new AtomicInteger();
+        EventWait events = EventWait.open(driver(() -> polls.incrementAndGet() == 1
+                ? List.of("loading") : List.of("ready: 3 items"), new AtomicInteger()));
+        Assert.assertEquals(events.forConsole("ready", Duration.ofSeconds(2)), "ready: 3 items");
+        Assert.assertTrue(events.report().contains("no BiDi"), events.report());
+    }
+}
@@ -0,0 +1,87 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * VirtualThreadExecutor vs a fixed platform-thread pool of the same size on
+ * an I/O-bound workload shaped like a WebDriver test unit: a series of
+ * blocking round-trips (simulated with sleeps, no browser needed).
+ *
+ * Each invocation runs a whole batch of units on a fresh executor, so the
+ * cost of creating the workers is included, as it is for a real run.
+ * "sessions" is both the platform pool size and the virtual session cap.
+ *
+ * Run with (JMH forks a JVM, so exec:java cannot be used):
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ExecutorBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class ExecutorBenchmark {
+
+    @Param({"8", "1000"})
+    public int sessions;
+
+    @Param({"2000"})
+    public int units;
+
+    /** Blocking round-trips per unit and the latency of each */
+    private static final int COMMANDS = 5;
+    private static final long COMMAND_MS = 2;
+
+    private static Integer testUnit() throws InterruptedException {
+        for (int i = 0; i < COMMANDS; i++) {
+            Thread.sleep(COMMAND_MS);
+        }
+        return COMMANDS;
+    }
+
+    private int runBatch(ExecutorService executor) throws InterruptedException, ExecutionException {
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(units);
+            for (int i = 0; i < units; i++) {
+                futures.add(executor.submit(ExecutorBenchmark::testUnit));
+            }
+            int commands = 0;
+            for (Future<Integer> future : futures) {
+                commands += future.get();
+            }
+            return commands;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public int platformPool() throws Exception {
+        return runBatch(Executors.newFixedThreadPool(sessions));
+    }
+
+    @Benchmark
+    public int virtualThreads() throws Exception {
+        return runBatch(new VirtualThreadExecutor(sessions));
+    }
+}
@@ -0,0 +1,64 @@
+package com.example;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class FixtureServerTest {
+    private FixtureServer server;
+    private HttpClient client;
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        server = new FixtureServer(0);
+        server.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void servesAutomationPracticeSnapshot() throws Exception {
+        HttpResponse<String> response = get("/AutomationPractice/");
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("text/html"));
+        for (String id : new String[] {"name=\"courses\"", "id=\"autocomplete\"", "id=\"courses-iframe\"",
+                "id=\"opentab\"", "id=\"openwindow\"", "id=\"mousehover\"", "id=\"displayed-text\""}) {
+            Assert.assertTrue(response.body().contains(id), "Snapshot should contain " + id);
+        }
+    }
+
+    @Test
+    public void servesDropdownsPractiseAndFrameTargets() throws Exception {
+        Assert.assertTrue(get("/dropdownsPractise/").body().contains("id=\"autosuggest\""));
+        Assert.assertEquals(get("/home/").statusCode(), 200);
+        Assert.assertEquals(get("/courses/").statusCode(), 200);
+    }
+
+    @Test
+    public void folderWithoutTrailingSlashRedirects() throws Exception {
+        HttpResponse<String> response = get("/AutomationPractice");
+        Assert.assertEquals(response.statusCode(), 301);
+        Assert.assertEquals(response.headers().firstValue("Location").orElse(""), "/AutomationPractice/");
+    }
+
+    @Test
+    public void missingPagesReturn404() throws Exception {
+        Assert.assertEquals(get("/nothing-here.html").statusCode(), 404);
+        Assert.assertEquals(get("/../pom.xml").statusCode(), 400);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        server.stop();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Parsing of the capture script's answer into the snapshot records. PAGE
+ * stands in for what the script returns; the script's DOM walk itself is
+ * not run here.
+ */
+public class FormSnapshotTest {
+
+    private static final Map<String, Object> PAGE = Map.of(
+            "inputs", List.of(
+                    Map.of("type", "radio", "id", "", "name", "radioButton", "value", "radio1",
+                            "checked", false, "disabled", false, "displayed", true),
+                    Map.of("type", "radio", "id", "", "name", "radioButton", "value", "radio2",
+                            "checked", true, "disabled", false, "displayed", true),
+                    Map.of("type", "checkbox", "id", "checkBoxOption1", "name", "checkBoxOption1", "value", "option1",
+                            "checked", true, "disabled", false, "displayed", true),
+                    Map.of("type", "text", "id", "displayed-text", "name", "show-hide", "value", "",
+                            "checked", false, "disabled", false, "displayed", false)),
+            "selects", List.of(
+                    Map.of("id", "dropdown-class-example", "name", "dropdown-class-example", "multiple", false,
+                            "disabled", false, "displayed", true, "options", List.of(
+                                    Map.of("text", "Select", "value", "", "selected", false, "disabled", false),
+                                    Map.of("text", "Option3", "value", "option3", "selected", true, "disabled", false)))));
+
+    /** Driver stub answering every script with PAGE, counting the calls */
+    private static WebDriver scriptDriver(AtomicInteger scripts) {
+        return new StubDriver().on("executeScript", args -> {
+            scripts.incrementAndGet();
+            return PAGE;
+        }).build();
+    }
+
+    @Test
+    public void capturesInputsAndSelectsInOneScript() {
+        AtomicInteger scripts = new AtomicInteger();
+        FormSnapshot form = FormSnapshot.capture(scriptDriver(scripts));
+
+        Assert.assertEquals(scripts.get(), 1);
+        Assert.assertEquals(form.getInputs().size(), 4);
+        Assert.assertEquals(form.inputs("radio").size(), 2);
+        Assert.assertEquals(form.checkedValues("radio"), List.of("radio2"));
+        Assert.assertTrue(form.input("checkBoxOption1").orElseThrow().checked());
+        Assert.assertFalse(form.input("show-hide").orElseThrow().displayed(), "found by name");
+        Assert.assertEquals(form.input("displayed-text").orElseThrow().index(), 3);
+    }
+
+    @Test
+    public void selectsKeepOptionsAndSelection() {
+        FormSnapshot form = FormSnapshot.capture(scriptDriver(new AtomicInteger()));
+        FormSnapshot.SelectBox dropdown = form.select("dropdown-class-example").orElseThrow();
+
+        Assert.assertEquals(dropdown.optionTexts(), List.of("Select", "Option3"));
+        Assert.assertEquals(dropdown.firstSelectedText(), "Option3");
+        Assert.assertTrue(form.select("missing").isEmpty());
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void snapshotIsImmutable() {
+        FormSnapshot.capture(scriptDriver(new AtomicInteger())).getInputs().clear();
+    }
+}
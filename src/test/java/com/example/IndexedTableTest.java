@@ -0,0 +1,96 @@
+package com.example;
+
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+public class IndexedTableTest {
+    private IndexedTable courses;
+
+    @BeforeClass
+    public void setUp() {
+        TableGrid grid = new TableGrid(List.of("Instructor", "Course", "Price"), List.of(
+                List.of("Rahul Shetty", "Selenium Webdriver with Java", "30"),
+                List.of("Rahul Shetty", "Learn SQL in Practical + Database Testing", "25"),
+                List.of("Rahul Shetty", "WebServices / REST API Testing with SoapUI", "35"),
+                List.of("Rahul Shetty", "Master Selenium Automation in simple Python Language", "25"),
+                List.of("Rahul Shetty", "Advanced Selenium Framework Pageobject, TestNG, Maven, Jenkins,C", "20"),
+                List.of("Rahul Shetty", "Write effective QA Resume that will turn to interview call", "0")));
+        courses = new IndexedTable(grid).withHashIndex("Course").withSortedIndex("Price");
+    }
+
+    @Test
+    public void lookupByCourseUsesExactKey() {
+        List<List<String>> rows = courses.query().whereEquals("Course", "Selenium Webdriver with Java").rows();
+        Assert.assertEquals(rows.size(), 1);
+        Assert.assertEquals(rows.get(0).get(2), "30");
+        Assert.assertTrue(courses.query().whereEquals("Course", "Missing").rows().isEmpty());
+    }
+
+    @Test
+    public void rangeAggregatesMatchScan() {
+        IndexedTable.Query query = courses.query().whereBetween("Price", 20, 30);
+        Assert.assertEquals(query.count(), 4);
+        Assert.assertEquals(query.sum("Price"), 100.0);
+        Assert.assertEquals(query.average("Price"), 25.0);
+        Assert.assertEquals(query.min("Price"), 20.0);
+        Assert.assertEquals(query.max("Price"), 30.0);
+    }
+
+    @Test
+    public void orderByPriceWithLimit() {
+        List<List<String>> top = courses.query().orderBy("Price", false).limit(2).rows();
+        Assert.assertEquals(top.get(0).get(2), "35");
+        Assert.assertEquals(top.get(1).get(2), "30");
+    }
+
+    @Test
+    public void combinedPredicates() {
+        int count = courses.query().whereContains("Course", "Selenium").whereBetween("Price", 25, 100).count();
+        Assert.assertEquals(count, 2);
+        Assert.assertEquals(courses.query().whereContains("Course", "Selenium").sum("Price"), 75.0);
+    }
+
+    @Test
+    public void orderByAgreesWithAndWithoutIndex() {
+        TableGrid grid = new TableGrid(List.of("Course", "Price"), List.of(
+                List.of("Java", "30"),
+                List.of("SQL", "n/a"),
+                List.of("REST", "25"),
+                List.of("Python", "free"),
+                List.of("Cypress", "25"),
+                List.of("Resume", "0")));
+        IndexedTable plain = new IndexedTable(grid);
+        IndexedTable indexed = new IndexedTable(grid).withSortedIndex("Price");
+
+        for (boolean ascending : new boolean[] {true, false}) {
+            List<List<String>> expected = plain.query().orderBy("Price", ascending).rows();
+            Assert.assertEquals(indexed.query().orderBy("Price", ascending).rows(), expected);
+            Assert.assertEquals(indexed.query().whereContains("Course", "e").orderBy("Price", ascending).limit(3).rows(),
+                    plain.query().whereContains("Course", "e").orderBy("Price", ascending).limit(3).rows());
+            // Every row is kept, rows without a price come last in either direction
+            Assert.assertEquals(expected.size(), 6);
+            Assert.assertEquals(List.of(expected.get(4).get(1), expected.get(5).get(1)),
+                    ascending ? List.of("free", "n/a") : List.of("n/a", "free"));
+        }
+        Assert.assertEquals(plain.query().orderBy("Price", true).rows().get(0).get(0), "Resume");
+        Assert.assertEquals(plain.query().orderBy("Course", true).rows().get(0).get(0), "Cypress");
+    }
+
+    @Test
+    public void parseNumberHandlesCurrencyAndLabels() {
+        Assert.assertEquals(TableGrid.parseNumber("$1,200.50"), 1200.5);
+        Assert.assertEquals(TableGrid.parseNumber("Total Amount Collected: 296"), 296.0);
+        Assert.assertTrue(Double.isNaN(TableGrid.parseNumber("n/a")));
+    }
+
+    @Test
+    public void dashIsASignOnlyBeforeADigit() {
+        Assert.assertEquals(TableGrid.parseNumber("-25"), -25.0);
+        Assert.assertEquals(TableGrid.parseNumber("Price - 25"), 25.0);
+        Assert.assertEquals(TableGrid.parseNumber("-free- 3 seats"), 3.0);
+        Assert.assertTrue(Double.isNaN(TableGrid.parseNumber("- not listed")));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.percentile(50), 50);
+        Assert.assertEquals(histogram.percentile(99), 99);
+        Assert.assertEquals(histogram.getMax(), 100);
+    }
+
+    @Test
+    public void largeValuesStayWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1_000; micros <= 1_000_000; micros += 1_000) {
+            histogram.record(micros);
+        }
+        long p50 = histogram.percentile(50);
+        long p99 = histogram.percentile(99);
+        Assert.assertTrue(Math.abs(p50 - 500_000) <= 500_000 / 64, "p50 was " + p50);
+        Assert.assertTrue(Math.abs(p99 - 990_000) <= 990_000 / 64, "p99 was " + p99);
+        Assert.assertEquals(histogram.percentile(100), 1_000_000);
+    }
+
+    @Test
+    public void bucketsCoverEveryValueOnce() {
+        for (long value : new long[] {0, 127, 128, 129, 255, 256, 1_000, 65_535, 10_000_000}) {
+            int index = LatencyHistogram.indexOf(value);
+            Assert.assertTrue(LatencyHistogram.highestValueIn(index) >= value, "value " + value);
+            if (index > 0) {
+                Assert.assertTrue(LatencyHistogram.highestValueIn(index - 1) < value, "value " + value);
+            }
+        }
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assert.assertEquals(histogram.percentile(99), 0);
+        Assert.assertEquals(histogram.getMean(), 0.0);
+    }
+}
@@ -1,29 +1,180 @@
 package com.example;
 
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
-import org.testng.internal.annotations.IListeners;
 
-public class Listeners implements ITestListener {
+/**
+ * Logs every test and measures it: wall time, CPU time and bytes allocated
+ * on the test thread (ThreadMXBean), WebDriver round-trips issued through
+ * {@link CommandTimings}-decorated drivers and time spent waiting for a
+ * {@link DriverPool} session. Commands and pool wait are counted per thread,
+ * so parallel DataProvider rows of the same method do not see each other's.
+ *
+ * At suite finish the numbers are written as JSON to
+ * target/test-metrics.json (-Dtest.metrics.file to change). If the file
+ * already holds a previous run, each test also carries its previous wall
+ * time and clearly slower tests are logged as "test.slower". A test is
+ * matched to its previous run by method and "row", a hash of its parameters
+ * (the invocation count is shared by parallel rows and racy).
+ */
+public class Listeners implements ITestListener, ISuiteListener {
+    private static final String START = "metrics.start";
+    // Flag a test when it is 50% and at least 100 ms slower than last run
+    private static final double SLOWER_RATIO = 1.5;
+    private static final long SLOWER_MIN_MS = 100;
+
+    private final EventLog log = EventLog.shared();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private final List<Map<String, Object>> tests = new ArrayList<>();
+    private long suiteStartNanos;
+
+    /** Counters of the test thread when a test started */
+    private record Snapshot(long wallNanos, long cpuNanos, long allocatedBytes, long commands,
+                            long poolWaitNanos, String previousTag) {
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        suiteStartNanos = System.nanoTime();
+        synchronized (tests) {
+            tests.clear();
+        }
+    }
+
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("Test started: " + result.getName());
+        log.info("test.started", "test", result.getName());
+        String previousTag = CommandTimings.tag(testId(result));
+        result.setAttribute(START, new Snapshot(System.nanoTime(), threads.getCurrentThreadCpuTime(),
+                threads.getCurrentThreadAllocatedBytes(), CommandTimings.getCurrentThreadRoundTrips(),
+                DriverPool.getCurrentThreadWaitNanos(), previousTag));
     }
 
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("Test succeeded: " + result.getName());
+        log.info("test.succeeded", "test", result.getName());
+        finish(result, "PASS");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("Test failed: " + result.getName());
-        
-    
+        log.error("test.failed", "test", result.getName(), "error", String.valueOf(result.getThrowable()));
+        finish(result, "FAIL");
     }
 
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("Test skipped: " + result.getName());
+        log.warn("test.skipped", "test", result.getName());
+        finish(result, "SKIP");
+    }
+
+    private static String testId(ITestResult result) {
+        return result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+    }
+
+    private void finish(ITestResult result, String status) {
+        Snapshot start = (Snapshot) result.getAttribute(START);
+        if (start == null) {
+            // Skipped before it started (e.g. a failed dependency)
+            return;
+        }
+        CommandTimings.tag(start.previousTag());
+
+        Map<String, Object> test = new LinkedHashMap<>();
+        test.put("test", testId(result));
+        // Stable across runs and per row, without writing the (possibly secret) parameters themselves
+        test.put("row", Integer.toHexString(Arrays.deepHashCode(result.getParameters())));
+        test.put("status", status);
+        test.put("thread", Thread.currentThread().getName());
+        test.put("wallMs", (System.nanoTime() - start.wallNanos()) / 1_000_000.0);
+        // ThreadMXBean reports -1 for virtual threads (VirtualThreadTestNG); leave those out as null
+        test.put("cpuMs", start.cpuNanos() < 0 ? null
+                : (threads.getCurrentThreadCpuTime() - start.cpuNanos()) / 1_000_000.0);
+        test.put("allocatedBytes", start.allocatedBytes() < 0 ? null
+                : threads.getCurrentThreadAllocatedBytes() - start.allocatedBytes());
+        test.put("driverCommands", CommandTimings.getCurrentThreadRoundTrips() - start.commands());
+        test.put("poolWaitMs", (DriverPool.getCurrentThreadWaitNanos() - start.poolWaitNanos()) / 1_000_000.0);
+        synchronized (tests) {
+            tests.add(test);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        Path file = Paths.get(System.getProperty("test.metrics.file", "target/test-metrics.json"));
+        Map<String, Double> previous = previousWallTimes(file);
+        double suiteMs = (System.nanoTime() - suiteStartNanos) / 1_000_000.0;
+
+        List<Map<String, Object>> snapshot;
+        synchronized (tests) {
+            snapshot = new ArrayList<>(tests);
+        }
+        for (Map<String, Object> test : snapshot) {
+            Double before = previous.get(key(test));
+            if (before == null) {
+                continue;
+            }
+            test.put("previousWallMs", before);
+            double now = (Double) test.get("wallMs");
+            if (now > before * SLOWER_RATIO && now - before >= SLOWER_MIN_MS) {
+                log.warn("test.slower", "test", key(test));
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("suite", suite.getName());
+        report.put("finishedAt", System.currentTimeMillis());
+        report.put("wallMs", suiteMs);
+        report.put("testCount", snapshot.size());
+        report.put("testsPerSecond", suiteMs == 0 ? 0 : snapshot.size() / (suiteMs / 1000.0));
+        report.put("tests", snapshot);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, new Json().toJson(report));
+            log.info("metrics.written", "file", file.toString(), "tests", snapshot.size());
+        } catch (IOException e) {
+            log.error("metrics.failed", "file", file.toString(), "error", e.getMessage());
+        }
+        log.flush();
+    }
+
+    private static String key(Map<String, Object> test) {
+        return test.get("test") + "#" + test.get("row");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Double> previousWallTimes(Path file) {
+        Map<String, Double> wallTimes = new HashMap<>();
+        if (!Files.exists(file)) {
+            return wallTimes;
+        }
+        try {
+            Map<String, Object> report = new Json().toType(Files.readString(file), Json.MAP_TYPE);
+            for (Map<String, Object> test : (List<Map<String, Object>>) report.getOrDefault("tests", List.of())) {
+                wallTimes.put(key(test), ((Number) test.get("wallMs")).doubleValue());
+            }
+        } catch (IOException | JsonException | ClassCastException e) {
+            log.warn("metrics.previous.unreadable", "error", String.valueOf(e.getMessage()));
+        }
+        return wallTimes;
     }
 }
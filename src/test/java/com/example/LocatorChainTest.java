@@ -0,0 +1,171 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * LocatorChain and LocatorRanking on a stub page. The stub answers the
+ * batched candidate script by walking the batch in Java against the same
+ * canned matches findElements uses, so the tests cover the order, the
+ * lookup counts and the ranking; the batch script's own CSS / XPath / id
+ * evaluation in a browser is not exercised.
+ */
+public class LocatorChainTest {
+
+    private static final LocatorChain.Candidate LABEL = LocatorChain.xpath("//label[contains(@for,'SeniorCitizen')]");
+    private static final LocatorChain.Candidate INPUT = LocatorChain.id("ctl00_mainContent_chk_SeniorCitizenDiscount");
+    private static final LocatorChain.Candidate CLASS = LocatorChain.css(".senior-citizen input");
+
+    private Path file;
+    // Elements each candidate matches on the stub page, by candidate key
+    private Map<String, List<WebElement>> page;
+    private List<List<List<String>>> batches;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        file = Files.createTempFile("locator-ranking", ".properties");
+        page = new HashMap<>();
+        batches = new ArrayList<>();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    private void pageMatches(LocatorChain.Candidate candidate) {
+        page.put(candidate.key(), List.of(StubDriver.element((method, args) -> null)));
+    }
+
+    private StubDriver stub() {
+        Map<String, String> keysByLocator = new HashMap<>();
+        for (LocatorChain.Candidate candidate : List.of(LABEL, INPUT, CLASS)) {
+            keysByLocator.put(candidate.toBy().toString(), candidate.key());
+        }
+        return new StubDriver()
+                .on("findElements", args -> page.getOrDefault(keysByLocator.get(args[0].toString()), List.of()))
+                .on("executeScript", args -> {
+                    @SuppressWarnings("unchecked")
+                    List<List<String>> batch = (List<List<String>>) ((Object[]) args[1])[0];
+                    batches.add(batch);
+                    for (int i = 0; i < batch.size(); i++) {
+                        List<WebElement> found = page.get(batch.get(i).get(0) + ":" + batch.get(i).get(1));
+                        if (found != null) {
+                            return List.of(i, found);
+                        }
+                    }
+                    return List.of(-1, List.of());
+                });
+    }
+
+    private LocatorChain chain(LocatorRanking ranking) {
+        return new LocatorChain("seniorCitizenCheckbox", ranking, LABEL, INPUT, CLASS);
+    }
+
+    @Test
+    public void firstRunPicksTheFirstMatchingCandidateInOneScript() {
+        pageMatches(INPUT);
+        pageMatches(CLASS);
+        StubDriver stub = stub();
+        LocatorRanking ranking = new LocatorRanking(file);
+
+        Assert.assertTrue(chain(ranking).find(stub.build()).isPresent());
+        Assert.assertEquals(stub.commands(), List.of("executeScript"));
+        Assert.assertEquals(batches.get(0), List.of(List.of("xpath", LABEL.expression()),
+                List.of("id", INPUT.expression()), List.of("css", CLASS.expression())), "Declared order");
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), INPUT.key());
+        Assert.assertEquals(ranking.averageLookups("seniorCitizenCheckbox"), 1.0);
+    }
+
+    @Test
+    public void savedWinnerIsTriedFirstAfterReload() {
+        pageMatches(CLASS);
+        LocatorRanking first = new LocatorRanking(file);
+        chain(first).findAll(stub().build());
+        first.save();
+
+        StubDriver stub = stub();
+        LocatorRanking reloaded = new LocatorRanking(file);
+        LocatorChain chain = chain(reloaded);
+        Assert.assertEquals(chain.findAll(stub.build()).size(), 1);
+        Assert.assertEquals(stub.commands(), List.of("findElements"), "One direct lookup, no script");
+        Assert.assertEquals(chain.getLastWinner(), CLASS);
+        Assert.assertEquals(reloaded.averageLookups("seniorCitizenCheckbox"), 1.0);
+    }
+
+    @Test
+    public void missedWinnerFallsBackAndPromotesTheNewOne() {
+        LocatorRanking ranking = new LocatorRanking(file);
+        ranking.record("seniorCitizenCheckbox", LABEL.key(), 1);
+        pageMatches(CLASS);
+        StubDriver stub = stub();
+
+        LocatorChain chain = chain(ranking);
+        Assert.assertTrue(chain.find(stub.build()).isPresent());
+        Assert.assertEquals(stub.commands(), List.of("findElements", "executeScript"));
+        Assert.assertEquals(batches.get(0).size(), 2, "The candidate that just missed is not sent again");
+        Assert.assertEquals(chain.getLastWinner(), CLASS);
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), CLASS.key());
+        Assert.assertEquals(ranking.averageLookups("seniorCitizenCheckbox"), 1.5);
+    }
+
+    @Test
+    public void performSkipsCandidatesWhoseActionFails() {
+        LocatorRanking ranking = new LocatorRanking(file);
+        ranking.record("seniorCitizenCheckbox", LABEL.key(), 1);
+        pageMatches(LABEL);
+        pageMatches(INPUT);
+        pageMatches(CLASS);
+        WebElement dud = page.get(LABEL.key()).get(0);
+        WebElement broken = page.get(INPUT.key()).get(0);
+
+        LocatorChain chain = chain(ranking);
+        Assert.assertTrue(chain.perform(stub().build(), element -> {
+            if (element == broken) {
+                throw new WebDriverException("element not interactable");
+            }
+            return element != dud;
+        }).isPresent());
+        Assert.assertEquals(batches.size(), 2, "Each failed match restarts the batch after it");
+        Assert.assertEquals(chain.getLastWinner(), CLASS);
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), CLASS.key());
+    }
+
+    @Test
+    public void performForgetsAWinnerWhoseActionFails() {
+        LocatorRanking ranking = new LocatorRanking(file);
+        ranking.record("seniorCitizenCheckbox", INPUT.key(), 1);
+        pageMatches(INPUT);
+
+        LocatorChain chain = chain(ranking);
+        Assert.assertTrue(chain.perform(stub().build(), element -> false).isEmpty());
+        Assert.assertNull(chain.getLastWinner());
+        Assert.assertNull(ranking.winner("seniorCitizenCheckbox"));
+    }
+
+    @Test
+    public void noMatchKeepsThePreviousWinner() {
+        LocatorRanking ranking = new LocatorRanking(file);
+        ranking.record("seniorCitizenCheckbox", INPUT.key(), 1);
+        WebDriver driver = stub().build();
+
+        LocatorChain chain = chain(ranking);
+        Assert.assertTrue(chain.findAll(driver).isEmpty());
+        Assert.assertNull(chain.getLastWinner());
+        Assert.assertEquals(ranking.winner("seniorCitizenCheckbox"), INPUT.key());
+        Assert.assertTrue(ranking.report().contains("seniorCitizenCheckbox: 1.50 avg over 2 resolves"),
+                ranking.report());
+    }
+}
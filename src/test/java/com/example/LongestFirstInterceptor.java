@@ -0,0 +1,55 @@
+package com.example;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+/**
+ * Hands TestNG the methods of each test longest first, using the durations
+ * of earlier runs in {@link DurationHistory} (see {@link LongestFirstScheduler}).
+ * With parallel="methods" that keeps slow browser tests from starting last
+ * and stretching the tail of the run; dependsOnMethods is still honoured.
+ *
+ * Every method's time (summed over its DataProvider rows) is recorded when
+ * the suite finishes, under the key "com.example.Class.method".
+ */
+public class LongestFirstInterceptor implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    private final LongestFirstScheduler scheduler = new LongestFirstScheduler(DurationHistory.shared());
+    private final Map<String, Long> elapsedMs = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        return scheduler.order(methods, method -> method.getMethod().getQualifiedName());
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordElapsed(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordElapsed(result);
+    }
+
+    private void recordElapsed(ITestResult result) {
+        elapsedMs.merge(result.getMethod().getQualifiedName(),
+                result.getEndMillis() - result.getStartMillis(), Long::sum);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        elapsedMs.forEach(scheduler::record);
+        elapsedMs.clear();
+        scheduler.getHistory().save();
+    }
+}
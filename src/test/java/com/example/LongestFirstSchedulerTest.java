@@ -0,0 +1,79 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.openqa.selenium.SessionNotCreatedException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LongestFirstSchedulerTest {
+
+    @Test
+    public void ordersLongestFirst() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            DurationHistory history = new DurationHistory(file);
+            history.record("testIFrame", 900);
+            history.record("testWindowHandling", 1500);
+            history.record("testCheckboxes", 100);
+            LongestFirstScheduler scheduler = new LongestFirstScheduler(history);
+
+            List<String> order = scheduler.order(
+                    List.of("testCheckboxes", "testIFrame", "testWindowHandling"), Function.identity());
+            Assert.assertEquals(order, List.of("testWindowHandling", "testIFrame", "testCheckboxes"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void unknownUnitsSitAtTheMeanInDeclaredOrder() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            DurationHistory history = new DurationHistory(file);
+            history.record("slow", 1000);
+            history.record("fast", 10);
+            LongestFirstScheduler scheduler = new LongestFirstScheduler(history);
+
+            List<String> order = scheduler.order(List.of("newA", "fast", "slow", "newB"), Function.identity());
+            Assert.assertEquals(order, List.of("slow", "newA", "newB", "fast"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void keepsDeclaredOrderWithoutHistory() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            LongestFirstScheduler scheduler = new LongestFirstScheduler(new DurationHistory(file));
+            Assert.assertEquals(scheduler.order(List.of("c", "a", "b"), Function.identity()), List.of("c", "a", "b"));
+            Assert.assertEquals(LongestFirstScheduler.componentUnit("testIFrame"), "AutomationPracticeTestSuite#testIFrame");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void crashedComponentIsNotRecorded() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            LongestFirstScheduler scheduler = new LongestFirstScheduler(new DurationHistory(file));
+            DriverPool noBrowser = new DriverPool(() -> {
+                throw new SessionNotCreatedException("no browser here");
+            }, 1);
+            List<ParallelSuiteRunner.ComponentResult> results =
+                    new ParallelSuiteRunner(noBrowser, Executors::newSingleThreadExecutor, scheduler)
+                            .run(List.of("testIFrame"));
+
+            Assert.assertFalse(results.get(0).completed());
+            Assert.assertEquals(scheduler.getHistory().runs(LongestFirstScheduler.componentUnit("testIFrame")), 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * How health-check answers turn into skip reasons. The anchor-lookup script
+ * is not run here (its result is canned), so whether it finds the anchors
+ * on the real page is only checked by a browser run.
+ */
+public class PageHealthTest {
+
+    /** Driver stub whose executeScript returns the given result, or throws it */
+    private static WebDriver scriptDriver(Object result) {
+        return new StubDriver().on("executeScript", args -> {
+            if (result instanceof RuntimeException e) {
+                throw e;
+            }
+            return result;
+        }).build();
+    }
+
+    @Test
+    public void skipsOnlyComponentsWithMissingAnchors() {
+        WebDriver driver = scriptDriver(Map.of("readyState", "complete", "body", true,
+                "missing", Map.of("testAlerts", List.of("#confirmbtn"))));
+        PageHealth.Report report = PageHealth.check(driver);
+        Assert.assertFalse(report.isHealthy());
+        Assert.assertEquals(report.skipReasons().keySet(), Set.of("testAlerts"));
+        Assert.assertEquals(report.skipReason("testAlerts"), "missing #confirmbtn");
+        Assert.assertNull(report.skipReason("testCheckboxes"));
+    }
+
+    @Test
+    public void skipsEverythingWhenThePageDidNotLoad() {
+        WebDriver driver = scriptDriver(Map.of("readyState", "loading", "body", false, "missing", Map.of()));
+        PageHealth.Report report = PageHealth.check(driver);
+        Assert.assertEquals(report.skipReasons().size(), PageHealth.REQUIREMENTS.size());
+        Assert.assertEquals(report.skipReason("testIFrame"), "page not loaded (readyState=loading)");
+    }
+
+    @Test
+    public void skipsEverythingWhenTheCheckFails() {
+        PageHealth.Report report = PageHealth.check(scriptDriver(new WebDriverException("session gone")));
+        Assert.assertEquals(report.readyState(), "unknown");
+        Assert.assertEquals(report.skipReason("testRadioButtons"), "health check failed: WebDriverException");
+    }
+
+    @Test
+    public void everyComponentHasRequirements() {
+        Assert.assertEquals(PageHealth.REQUIREMENTS.keySet(), new HashSet<>(AutomationPracticeTestSuite.COMPONENTS));
+        Assert.assertTrue(PageHealth.check(scriptDriver(Map.of("readyState", "complete", "body", true,
+                "missing", Map.of()))).isHealthy());
+    }
+}
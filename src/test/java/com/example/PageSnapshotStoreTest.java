@@ -0,0 +1,100 @@
+package com.example;
+
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class PageSnapshotStoreTest {
+    private Path directory;
+    private PageSnapshotStore store;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("page-snapshots");
+        store = new PageSnapshotStore(directory);
+    }
+
+    private PageSnapshotStore.Snapshot save(String label, String source) {
+        return store.save(label, "http://site/page", new StringReader(source));
+    }
+
+    @Test
+    public void storedFileIsCompressedSource() throws Exception {
+        String source = "<html><body>" + "<p>row</p>".repeat(2000) + "</body></html>";
+        PageSnapshotStore.Snapshot snapshot = save("page", source);
+
+        Path file = store.objectPath(snapshot.hash());
+        Assert.assertTrue(Files.size(file) < source.length() / 10);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            Assert.assertEquals(new String(in.readAllBytes(), StandardCharsets.UTF_8), source);
+        }
+        Assert.assertEquals(snapshot.chars(), source.length());
+    }
+
+    @Test
+    public void identicalSnapshotsAreStoredOnce() throws Exception {
+        PageSnapshotStore.Snapshot first = save("first", "<html>same</html>");
+        PageSnapshotStore.Snapshot second = save("second", "<html>same</html>");
+        PageSnapshotStore.Snapshot other = save("other", "<html>other</html>");
+
+        Assert.assertFalse(first.duplicate());
+        Assert.assertTrue(second.duplicate());
+        Assert.assertEquals(second.hash(), first.hash());
+        Assert.assertNotEquals(other.hash(), first.hash());
+        try (var files = Files.walk(directory.resolve("objects"))) {
+            Assert.assertEquals(files.filter(Files::isRegularFile).count(), 2);
+        }
+        Assert.assertEquals(Files.readAllLines(directory.resolve("manifest.tsv")).size(), 3);
+    }
+
+    @Test
+    public void aroundReturnsWindowIgnoringCase() {
+        // The match sits past the first 8K read chunk, with context on both sides of the boundary
+        String source = "x".repeat(8180) + "<label>SENIOR citizen</label>" + "y".repeat(1000);
+        PageSnapshotStore.Snapshot snapshot = save("checkbox", source);
+
+        PageSnapshotStore.Match match = store.around(snapshot, "senior", 20).orElseThrow();
+        int index = source.indexOf("SENIOR");
+        Assert.assertEquals(match.offset(), index);
+        Assert.assertEquals(match.match(), "SENIOR");
+        Assert.assertEquals(match.context(), source.substring(index - 20, index + 6 + 20));
+    }
+
+    @Test
+    public void windowIsClippedAtDocumentEdges() {
+        PageSnapshotStore.Snapshot snapshot = save("edges", "senior at start, senior at end senior");
+
+        List<PageSnapshotStore.Match> matches = store.search(snapshot.hash(), "senior", 10, 10, 10);
+        Assert.assertEquals(matches.size(), 3);
+        Assert.assertEquals(matches.get(0).before(), "");
+        Assert.assertEquals(matches.get(0).after(), " at start,");
+        Assert.assertEquals(matches.get(2).before(), "or at end ");
+        Assert.assertEquals(matches.get(2).after(), "");
+    }
+
+    @Test
+    public void searchFindsOverlappingMatchesUpToLimit() {
+        PageSnapshotStore.Snapshot snapshot = save("overlap", "aaaa");
+
+        Assert.assertEquals(store.search(snapshot.hash(), "aa", 0, 0, 10).size(), 3);
+        Assert.assertEquals(store.search(snapshot.hash(), "aa", 0, 1, 2).stream()
+                .map(PageSnapshotStore.Match::offset).toList(), List.of(0L, 1L));
+    }
+
+    @Test
+    public void containsReportsAbsence() {
+        PageSnapshotStore.Snapshot snapshot = save("page", "<ul class=\"ui-autocomplete\"></ul>");
+
+        Assert.assertTrue(store.contains(snapshot, "ui-autocomplete"));
+        Assert.assertFalse(store.contains(snapshot, "ui-menu-item"));
+        Assert.assertTrue(store.around(snapshot, "ui-menu-item", 200).isEmpty());
+    }
+}
@@ -0,0 +1,123 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * ParallelSuiteRunner on pooled stub sessions. The suite is replaced by a
+ * subclass whose open() and runComponent() only sleep, fail or throw, so
+ * these tests cover how the runner isolates, times and merges components,
+ * not the component checks themselves.
+ */
+public class ParallelSuiteRunnerTest {
+
+    private static final long OPEN_MS = 200;
+
+    private Path file;
+    private AtomicInteger suites;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        file = Files.createTempFile("durations", ".properties");
+        suites = new AtomicInteger();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    /** Suite whose page takes OPEN_MS to open and whose components misbehave on cue */
+    private final class FakeSuite extends AutomationPracticeTestSuite {
+
+        FakeSuite() {
+            suites.incrementAndGet();
+        }
+
+        @Override
+        public void open(WebDriver session) {
+            session.get("https://practice/");
+            sleep(OPEN_MS);
+        }
+
+        @Override
+        public void runComponent(String component) {
+            switch (component) {
+                case "testRadioButtons" -> {
+                    // Finishes last, so completion order differs from declaration order
+                    sleep(150);
+                    getFailures().put(component, new IllegalStateException("radio not selected"));
+                }
+                case "testCheckboxes" -> throw new AssertionError("checkbox still unchecked");
+                default -> { }
+            }
+        }
+    }
+
+    private static WebDriver session() {
+        return new StubDriver().returning("getWindowHandles", Set.of("main")).build();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void failuresStayWithTheirComponentAndResultsKeepDeclarationOrder() {
+        DriverPool pool = new DriverPool(ParallelSuiteRunnerTest::session, 3);
+        DurationHistory history = new DurationHistory(file);
+        ParallelSuiteRunner runner = new ParallelSuiteRunner(pool, () -> Executors.newFixedThreadPool(3),
+                new LongestFirstScheduler(history), FakeSuite::new);
+
+        List<String> components = List.of("testRadioButtons", "testCheckboxes", "testAlerts");
+        List<ParallelSuiteRunner.ComponentResult> results = runner.run(components);
+
+        Assert.assertEquals(results.stream().map(ParallelSuiteRunner.ComponentResult::component).toList(), components);
+        Assert.assertEquals(suites.get(), 3, "Every component gets its own suite instance");
+
+        ParallelSuiteRunner.ComponentResult radio = results.get(0);
+        Assert.assertFalse(radio.passed());
+        Assert.assertTrue(radio.completed(), "A failure the check caught is still a completed run");
+        Assert.assertEquals(radio.failure(), "radio not selected");
+
+        ParallelSuiteRunner.ComponentResult checkbox = results.get(1);
+        Assert.assertFalse(checkbox.passed());
+        Assert.assertFalse(checkbox.completed());
+        Assert.assertEquals(checkbox.failure(), "checkbox still unchecked");
+
+        Assert.assertTrue(results.get(2).passed(), "The other components are unaffected");
+        Assert.assertEquals(history.runs(LongestFirstScheduler.componentUnit("testCheckboxes")), 0,
+                "A crashed component is not recorded");
+        Assert.assertEquals(history.runs(LongestFirstScheduler.componentUnit("testAlerts")), 1);
+        Assert.assertEquals(pool.getIdleCount(), 3, "Every session goes back to the pool");
+    }
+
+    @Test
+    public void durationExcludesTheLeaseAndPageLoad() {
+        DriverPool pool = new DriverPool(ParallelSuiteRunnerTest::session, 1);
+        ParallelSuiteRunner runner = new ParallelSuiteRunner(pool, () -> Executors.newFixedThreadPool(2),
+                new LongestFirstScheduler(new DurationHistory(file)), FakeSuite::new);
+
+        // One session for two components: the second waits a whole open() for its lease
+        List<ParallelSuiteRunner.ComponentResult> results = runner.run(List.of("testAlerts", "testIFrame"));
+
+        for (ParallelSuiteRunner.ComponentResult result : results) {
+            Assert.assertTrue(result.passed());
+            Assert.assertTrue(result.durationMs() < OPEN_MS, result.component() + " took " + result.durationMs());
+        }
+    }
+}
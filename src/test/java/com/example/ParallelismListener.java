@@ -0,0 +1,40 @@
+package com.example;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+/**
+ * Sizes the suite's thread count to the machine instead of the fixed number
+ * in testng.xml: one thread per core, or -Dtestng.threads=N.
+ *
+ * Every thread that runs a browser test leases its own session through
+ * {@link DriverManager}, so unless -Ddriver.pool.size is given the shared
+ * pool is sized to the same number of threads with
+ * {@link DriverPool#sizeShared(int)}. TestNG alters the suite before any
+ * test or listener hook runs, so the pool does not exist yet; if something
+ * created it earlier with another size, that call fails instead of the
+ * threads silently queueing for too few sessions.
+ *
+ * Rows of parallel DataProviders run on their own pool, bounded by
+ * -Dtestng.dataprovider.threads (default: the data-provider-thread-count in
+ * testng.xml).
+ */
+public class ParallelismListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = Integer.getInteger("testng.threads", Runtime.getRuntime().availableProcessors());
+        if (System.getProperty("driver.pool.size") == null) {
+            DriverPool.sizeShared(threads);
+        }
+        Integer dataProviderThreads = Integer.getInteger("testng.dataprovider.threads");
+        for (XmlSuite suite : suites) {
+            suite.setThreadCount(threads);
+            if (dataProviderThreads != null) {
+                suite.setDataProviderThreadCount(dataProviderThreads);
+            }
+        }
+    }
+}
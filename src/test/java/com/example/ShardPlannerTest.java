@@ -0,0 +1,183 @@
+package com.example;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class ShardPlannerTest {
+
+    @Test
+    public void balancesLongestFirst() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("A", 7L);
+        estimates.put("B", 5L);
+        estimates.put("C", 4L);
+        estimates.put("D", 3L);
+        estimates.put("E", 2L);
+        estimates.put("F", 1L);
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(estimates, 2);
+        Assert.assertEquals(shards.get(0).units(), List.of("A", "D", "F"));
+        Assert.assertEquals(shards.get(1).units(), List.of("B", "C", "E"));
+        Assert.assertEquals(shards.get(0).estimatedMs(), 11);
+        Assert.assertEquals(shards.get(1).estimatedMs(), 11);
+    }
+
+    @Test
+    public void samePlanForSameHistory() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            estimates.put("unit" + i, 100L);
+        }
+        Assert.assertEquals(ShardPlanner.plan(estimates, 3), ShardPlanner.plan(estimates, 3));
+        Assert.assertEquals(ShardPlanner.plan(estimates, 3).get(0).units().size(), 7);
+    }
+
+    @Test
+    public void moreShardsThanUnitsLeavesSomeEmpty() {
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(Map.of("only", 10L), 3);
+        Assert.assertEquals(shards.size(), 3);
+        Assert.assertEquals(shards.get(0).units(), List.of("only"));
+        Assert.assertTrue(shards.get(2).units().isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsZeroShards() {
+        ShardPlanner.plan(Map.of("only", 10L), 0);
+    }
+
+    @Test
+    public void unknownUnitsGetTheMeanOfKnownOnes() throws Exception {
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            DurationHistory history = new DurationHistory(file);
+            history.record("fast", 100);
+            history.record("slow", 300);
+            history.record("slow", 400);
+            history.save();
+
+            DurationHistory reloaded = new DurationHistory(file);
+            Assert.assertEquals(reloaded.runs("slow"), 2);
+            Assert.assertEquals(reloaded.averageMs("slow"), 330);
+            Map<String, Long> estimates = reloaded.estimates(List.of("fast", "slow", "new"));
+            Assert.assertEquals(estimates.get("new").longValue(), 215);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void readsTestNGResults() throws Exception {
+        Path file = Files.createTempFile("testng-results", ".xml");
+        try {
+            Files.writeString(file, """
+                    <testng-results>
+                      <suite name="s"><test name="t">
+                        <class name="com.example.TestPractise2">
+                          <test-method is-config="true" status="PASS" name="setUp" duration-ms="40"/>
+                          <test-method status="FAIL" name="login" duration-ms="120"/>
+                        </class>
+                      </test></suite>
+                    </testng-results>
+                    """);
+            List<ShardRunner.TestOutcome> outcomes = ShardRunner.readTestResults(file);
+            Assert.assertEquals(outcomes.size(), 2);
+            Assert.assertTrue(outcomes.get(0).config());
+            Assert.assertEquals(outcomes.get(1),
+                    new ShardRunner.TestOutcome("com.example.TestPractise2", "login", "FAIL", 120, false));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void crashedShardFailsTheMergedRun() throws Exception {
+        Path dir = Files.createTempDirectory("shard");
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            // A JVM killed by OOM exits non-zero without writing testng-results.xml or components.json
+            ShardRunner.Merge merge = new ShardRunner.Merge(new DurationHistory(file));
+            merge.add(new ShardPlanner.Shard(0, List.of("com.example.TestPractise2",
+                    LongestFirstScheduler.componentUnit("alerts")), 100), dir, 137);
+
+            Assert.assertFalse(merge.isSuccess());
+            Assert.assertEquals(merge.brokenShards, 1);
+            Assert.assertEquals(merge.shards.get(0).get("problems"),
+                    List.of("exit code 137", "no testng-results.xml", "no components.json"));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void skippedTestsFailTheMergedRun() throws Exception {
+        Path dir = Files.createTempDirectory("shard");
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            Files.writeString(dir.resolve("testng-results.xml"), """
+                    <testng-results>
+                      <suite name="s"><test name="t">
+                        <class name="com.example.TestPractise2">
+                          <test-method status="SKIP" name="login" duration-ms="0"/>
+                        </class>
+                      </test></suite>
+                    </testng-results>
+                    """);
+            ShardRunner.Merge merge = new ShardRunner.Merge(new DurationHistory(file));
+            merge.add(new ShardPlanner.Shard(0, List.of("com.example.TestPractise2"), 100), dir, 0);
+
+            Assert.assertEquals(merge.skipped, 1);
+            Assert.assertEquals(merge.brokenShards, 0);
+            Assert.assertFalse(merge.isSuccess());
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir.resolve("testng-results.xml"));
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    @Test
+    public void onlyUnitsThatRanToTheEndAreRecorded() throws Exception {
+        Path dir = Files.createTempDirectory("shard");
+        Path file = Files.createTempFile("durations", ".properties");
+        try {
+            Files.writeString(dir.resolve("testng-results.xml"), """
+                    <testng-results>
+                      <suite name="s"><test name="t">
+                        <class name="com.example.IndexedTableTest">
+                          <test-method status="PASS" name="lookup" duration-ms="40"/>
+                        </class>
+                        <class name="com.example.TestPractise2">
+                          <test-method status="PASS" name="open" duration-ms="900"/>
+                          <test-method status="SKIP" name="login" duration-ms="0"/>
+                        </class>
+                      </test></suite>
+                    </testng-results>
+                    """);
+            Files.writeString(dir.resolve("components.json"), """
+                    [{"component": "testIFrame", "passed": false, "failure": "x", "durationMs": 700, "completed": true},
+                     {"component": "testAlerts", "passed": false, "failure": "Skipped: no alert button",
+                      "durationMs": 3, "completed": false}]
+                    """);
+            DurationHistory history = new DurationHistory(file);
+            ShardRunner.Merge merge = new ShardRunner.Merge(history);
+            merge.add(new ShardPlanner.Shard(0, List.of("com.example.IndexedTableTest", "com.example.TestPractise2",
+                    "AutomationPracticeTestSuite#testIFrame", "AutomationPracticeTestSuite#testAlerts"), 100), dir, 0);
+
+            Assert.assertEquals(history.averageMs("com.example.IndexedTableTest"), 40);
+            Assert.assertEquals(history.runs("com.example.TestPractise2"), 0, "Class with a skipped method");
+            Assert.assertEquals(history.averageMs("AutomationPracticeTestSuite#testIFrame"), 700);
+            Assert.assertEquals(history.runs("AutomationPracticeTestSuite#testAlerts"), 0, "Skipped component");
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir.resolve("testng-results.xml"));
+            Files.deleteIfExists(dir.resolve("components.json"));
+            Files.deleteIfExists(dir);
+        }
+    }
+}
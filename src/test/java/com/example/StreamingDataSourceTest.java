@@ -0,0 +1,120 @@
+package com.example;
+
+import java.io.BufferedWriter;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class StreamingDataSourceTest {
+
+    private static List<Object[]> drain(Iterator<Object[]> rows) {
+        List<Object[]> all = new ArrayList<>();
+        rows.forEachRemaining(all::add);
+        return all;
+    }
+
+    @Test
+    public void parsesQuotedCsvFields() throws Exception {
+        Path file = Files.createTempFile("credentials", ".csv");
+        Files.writeString(file, "username,password\r\nalice,\"p,w\"\r\n\r\n\"bob \"\"b\"\"\",secret");
+        List<Object[]> rows = drain(StreamingDataSource.csv(file));
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0), new Object[] {"alice", "p,w"});
+        Assert.assertEquals(rows.get(1), new Object[] {"bob \"b\"", "secret"});
+    }
+
+    @Test
+    public void readsLinesAcrossMappedWindows() throws Exception {
+        Path file = Files.createTempFile("matrix", ".csv");
+        int count = 5_000;
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            writer.write("user,password\n");
+            for (int i = 0; i < count; i++) {
+                writer.write("user" + i + ",pw" + i + "\n");
+            }
+        }
+        // 100-byte windows force a remap every few lines, including mid-line
+        List<Object[]> rows = drain(StreamingDataSource.csv(file, 100));
+        Assert.assertEquals(rows.size(), count);
+        for (int i = 0; i < count; i++) {
+            Assert.assertEquals(rows.get(i), new Object[] {"user" + i, "pw" + i});
+        }
+    }
+
+    @Test
+    public void rejectsLinesLongerThanTheWindow() throws Exception {
+        Path file = Files.createTempFile("wide", ".csv");
+        Files.writeString(file, "h\n" + "x".repeat(500) + "\n");
+        Assert.assertThrows(IllegalStateException.class, () -> drain(StreamingDataSource.csv(file, 100)));
+    }
+
+    @Test
+    public void selectsJsonlFields() throws Exception {
+        Path file = Files.createTempFile("credentials", ".jsonl");
+        Files.writeString(file, "{\"username\":\"alice\",\"password\":\"pw\",\"age\":30}\n{\"username\":\"bob\"}\n");
+        List<Object[]> rows = drain(StreamingDataSource.jsonl(file, "username", "password"));
+        Assert.assertEquals(rows.get(0), new Object[] {"alice", "pw"});
+        Assert.assertEquals(rows.get(1), new Object[] {"bob", null});
+    }
+
+    @Test
+    public void sharedIteratorHandsOutEveryRowOnce() throws Exception {
+        Path file = Files.createTempFile("matrix", ".csv");
+        StringBuilder csv = new StringBuilder("user\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append("user").append(i).append('\n');
+        }
+        Files.writeString(file, csv);
+        Iterator<Object[]> rows = StreamingDataSource.csv(file);
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                while (true) {
+                    Object[] row;
+                    synchronized (rows) {
+                        if (!rows.hasNext()) {
+                            return;
+                        }
+                        row = rows.next();
+                    }
+                    Assert.assertTrue(seen.add(row[0]), "Duplicate row " + row[0]);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(seen.size(), 10_000);
+    }
+
+    @Test
+    public void boundedIteratorWaitsForFinishedRows() throws Exception {
+        Path file = Files.createTempFile("matrix", ".csv");
+        Files.writeString(file, "user\na\nb\nc\n");
+        Method method = StreamingDataSourceTest.class.getMethod("boundedIteratorWaitsForFinishedRows");
+        Iterator<Object[]> rows = StreamingDataSource.bounded(StreamingDataSource.csv(file), method, 2);
+        rows.next();
+        rows.next();
+
+        // A parallel DataProvider reading ahead: the third row waits until one of the first two finishes
+        CompletableFuture<Object[]> third = CompletableFuture.supplyAsync(rows::next);
+        Thread.sleep(200);
+        Assert.assertFalse(third.isDone());
+        StreamingDataSource.rowFinished(method);
+        Assert.assertEquals(third.get(5, TimeUnit.SECONDS), new Object[] {"c"});
+        Assert.assertFalse(rows.hasNext());
+    }
+}
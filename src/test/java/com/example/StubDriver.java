@@ -0,0 +1,162 @@
+package com.example;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * WebDriver stand-in for unit tests, answering commands from handlers
+ * registered by name instead of talking to a browser.
+ *
+ * Driver methods are named as they are ("findElement", "executeScript");
+ * methods of the helper objects behind manage() / switchTo() / navigate()
+ * are prefixed with their interface ("Options.deleteAllCookies",
+ * "Timeouts.getScriptTimeout", "TargetLocator.frame"). Every call is
+ * logged under that name. Unhandled calls return null / false / 0, except
+ * that helper getters return helper stubs, builder-style setters return
+ * their own stub, Timeouts.getScriptTimeout returns 30 s and equals /
+ * hashCode have identity semantics.
+ *
+ * <pre>
+ * WebDriver driver = new StubDriver()
+ *         .on("executeScript", args -&gt; Map.of("readyState", "complete"))
+ *         .build();
+ * </pre>
+ *
+ * Scripts handed to executeScript / executeAsyncScript are never run, the
+ * handler's canned result stands in for what the script would return. Tests
+ * on this stub therefore cover the Java side only (what is sent, how answers
+ * are parsed, fallbacks and bookkeeping); the JavaScript itself is not
+ * exercised and stays unverified until it runs against a real browser.
+ */
+public final class StubDriver {
+
+    /** Answer to one command; may throw to simulate a driver error */
+    @FunctionalInterface
+    public interface Handler {
+        Object answer(Object[] args) throws Throwable;
+    }
+
+    /** Answer to any method of a stub element */
+    @FunctionalInterface
+    public interface ElementHandler {
+        Object answer(String method, Object[] args) throws Throwable;
+    }
+
+    private final Map<String, Handler> handlers = new HashMap<>();
+    private final List<String> commands = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Class<?>, Object> helpers = new HashMap<>();
+    private final List<Class<?>> extraInterfaces = new ArrayList<>(List.of(JavascriptExecutor.class));
+    private WebDriver driver;
+
+    public StubDriver on(String command, Handler handler) {
+        handlers.put(command, handler);
+        return this;
+    }
+
+    public StubDriver returning(String command, Object value) {
+        return on(command, args -> value);
+    }
+
+    /** Also implement a driver capability such as HasCdp; its methods are logged by name */
+    public StubDriver implementing(Class<?> capability) {
+        extraInterfaces.add(capability);
+        return this;
+    }
+
+    /** Names of all calls made so far, in order */
+    public List<String> commands() {
+        synchronized (commands) {
+            return List.copyOf(commands);
+        }
+    }
+
+    /** The driver, also implementing JavascriptExecutor */
+    public synchronized WebDriver build() {
+        if (driver == null) {
+            driver = (WebDriver) stub(WebDriver.class, "", extraInterfaces.toArray(new Class<?>[0]));
+        }
+        return driver;
+    }
+
+    /** Element stub answering every method through one handler */
+    public static WebElement element(ElementHandler handler) {
+        return (WebElement) Proxy.newProxyInstance(WebElement.class.getClassLoader(),
+                new Class<?>[] {WebElement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubElement@" + Integer.toHexString(System.identityHashCode(proxy));
+                    default -> {
+                        Object answer = handler.answer(method.getName(), args == null ? new Object[0] : args);
+                        yield answer == null ? defaultValue(method) : answer;
+                    }
+                });
+    }
+
+    private Object stub(Class<?> type, String prefix, Class<?>... extra) {
+        Class<?>[] interfaces = new Class<?>[extra.length + 1];
+        interfaces[0] = type;
+        System.arraycopy(extra, 0, interfaces, 1, extra.length);
+        return Proxy.newProxyInstance(type.getClassLoader(), interfaces, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "Stub" + type.getSimpleName();
+                default:
+                    break;
+            }
+            String command = prefix + method.getName();
+            commands.add(command);
+            Handler handler = handlers.get(command);
+            if (handler != null) {
+                return handler.answer(args == null ? new Object[0] : args);
+            }
+            return defaultAnswer(proxy, method);
+        });
+    }
+
+    private Object defaultAnswer(Object proxy, Method method) {
+        Class<?> returned = method.getReturnType();
+        if (returned != Object.class && returned.isInstance(proxy)) {
+            return proxy;
+        }
+        if (returned == WebDriver.class) {
+            return driver;
+        }
+        if (returned.isInterface() && returned.getEnclosingClass() == WebDriver.class) {
+            synchronized (helpers) {
+                return helpers.computeIfAbsent(returned, t -> stub(t, t.getSimpleName() + "."));
+            }
+        }
+        if (method.getName().equals("getScriptTimeout")) {
+            return Duration.ofSeconds(30);
+        }
+        return defaultValue(method);
+    }
+
+    private static Object defaultValue(Method method) {
+        Class<?> returned = method.getReturnType();
+        if (returned == boolean.class) {
+            return false;
+        } else if (returned == int.class) {
+            return 0;
+        } else if (returned == long.class) {
+            return 0L;
+        } else if (returned == double.class) {
+            return 0.0;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * IndexedTable vs the scan-and-getText approach on a synthetic courses table.
+ *
+ * The "scan" benchmarks do what the suite and TablesXPathTest do today, minus
+ * the network: walk every row, read the cell text and parse it on the fly.
+ *
+ * Run with (JMH forks a JVM, so exec:java cannot be used):
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main TableQueryBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableQueryBenchmark {
+
+    @Param({"100000"})
+    public int rows;
+
+    private TableGrid grid;
+    private IndexedTable indexed;
+    private String targetCourse;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<List<String>> data = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            data.add(List.of("Instructor " + (i % 50), "Course " + i, String.valueOf(random.nextInt(100))));
+        }
+        grid = new TableGrid(List.of("Instructor", "Course", "Price"), data);
+        indexed = new IndexedTable(grid).withHashIndex("Course").withSortedIndex("Price");
+        targetCourse = "Course " + (rows * 3 / 4);
+    }
+
+    @Benchmark
+    public String priceForCourseScan() {
+        for (List<String> row : grid.getRows()) {
+            if (row.get(1).equals(targetCourse)) {
+                return row.get(2);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public List<List<String>> priceForCourseIndexed() {
+        return indexed.query().whereEquals("Course", targetCourse).rows();
+    }
+
+    @Benchmark
+    public double sumPriceRangeScan() {
+        double sum = 0;
+        for (List<String> row : grid.getRows()) {
+            double price = TableGrid.parseNumber(row.get(2));
+            if (price >= 20 && price <= 40) {
+                sum += price;
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double sumPriceRangeIndexed() {
+        return indexed.query().whereBetween("Price", 20, 40).sum("Price");
+    }
+
+    @Benchmark
+    public List<List<String>> cheapestTenScan() {
+        List<List<String>> sorted = new ArrayList<>(grid.getRows());
+        sorted.sort((a, b) -> Double.compare(TableGrid.parseNumber(a.get(2)), TableGrid.parseNumber(b.get(2))));
+        return sorted.subList(0, 10);
+    }
+
+    @Benchmark
+    public List<List<String>> cheapestTenIndexed() {
+        return indexed.query().orderBy("Price", true).limit(10).rows();
+    }
+}
@@ -3,32 +3,33 @@ package com.example;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
-import org.testng.annotations.AfterClass;
-import org.testng.annotations.BeforeClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.time.Duration;
 import java.util.List;
 
+/**
+ * Runs with parallel="methods": every method gets its own pooled session
+ * through DriverManager instead of sharing a driver field.
+ */
 public class TablesXPathTest {
-    private WebDriver driver;
-    private WebDriverWait wait;
 
-    @BeforeClass
+    @BeforeMethod
     public void setUp() {
-        driver = new ChromeDriver();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-        driver.manage().window().maximize();
-        driver.get("https://rahulshettyacademy.com/AutomationPractice/");
+        WebDriver driver = DriverManager.driver();
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        driver.get(TestSite.automationPractice());
         wait.until(ExpectedConditions.visibilityOfElementLocated(By.xpath("//table[@name='courses']")));
     }
 
     @Test
     public void scopedVsDocumentScopeRowCounts() {
+        WebDriver driver = DriverManager.driver();
         WebElement table = driver.findElement(By.xpath("//table[@name='courses']"));
 
         // document-scope descendant (global) — will search whole document
@@ -46,6 +47,7 @@ public class TablesXPathTest {
 
     @Test(dependsOnMethods = "scopedVsDocumentScopeRowCounts")
     public void findPriceForCourse() {
+        WebDriver driver = DriverManager.driver();
         WebElement table = driver.findElement(By.xpath("//table[@name='courses']"));
         String courseName = "Selenium Webdriver"; // adjust if page changes
 
@@ -64,10 +66,8 @@ public class TablesXPathTest {
         Assert.assertFalse(price.isEmpty(), "Price should not be empty");
     }
 
-    @AfterClass
+    @AfterMethod(alwaysRun = true)
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
+        DriverManager.release();
     }
 }
@@ -1,5 +1,12 @@
 package com.example;
 
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+
+import org.testng.ITestContext;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Optional;
@@ -28,13 +35,18 @@ public class TestPractise2 {
         System.out.println("✅ Before Method executed successfully!");
     }
 
-    @DataProvider
-    public Object[][] getData() {
-        Object[][] data = new Object[2][2];
-        data[0][0] = "firstUsername";
-        data[0][1] = "firstPassword";
-        data[1][0] = "secondUsername";
-        data[1][1] = "secondPassword";
-        return data;
+    /**
+     * Credentials streamed row by row from a CSV file (the bundled
+     * data/credentials.csv, or -Dcredentials.file=path for a real matrix).
+     * Rows run in parallel on the suite's data-provider-thread-count
+     * threads, and no more rows than that are read ahead of them.
+     */
+    @DataProvider(parallel = true)
+    public Iterator<Object[]> getData(Method method, ITestContext context) throws URISyntaxException {
+        String file = System.getProperty("credentials.file");
+        Path path = file != null ? Paths.get(file)
+                : Paths.get(getClass().getResource("/data/credentials.csv").toURI());
+        return StreamingDataSource.bounded(StreamingDataSource.csv(path), method,
+                context.getSuite().getXmlSuite().getDataProviderThreadCount());
     }
 }
@@ -0,0 +1,74 @@
+package com.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class VirtualThreadExecutorTest {
+
+    @Test
+    public void capsConcurrentSessions() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                futures.add(executor.submit(() -> {
+                    peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    Thread.sleep(5);
+                    inFlight.decrementAndGet();
+                    return Thread.currentThread().isVirtual();
+                }));
+            }
+            for (Future<Boolean> future : futures) {
+                Assert.assertTrue(future.get(10, TimeUnit.SECONDS), "Task should run on a virtual thread");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        Assert.assertEquals(peak.get(), 3);
+        Assert.assertEquals(executor.getPeakRunning(), 3);
+        Assert.assertTrue(executor.report().startsWith("Virtual executor: 30 tasks"), executor.report());
+    }
+
+    @Test
+    public void shutdownNowReturnsTasksQueuedBehindTheCap() throws Exception {
+        VirtualThreadExecutor executor = new VirtualThreadExecutor(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executor.submit(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return null;
+        });
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        AtomicInteger ran = new AtomicInteger();
+        List<Future<?>> queued = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queued.add(executor.submit(ran::incrementAndGet));
+        }
+
+        List<Runnable> neverRun = executor.shutdownNow();
+        Assert.assertEquals(neverRun.size(), 3);
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        Assert.assertThrows(ExecutionException.class, () -> running.get(1, TimeUnit.SECONDS));
+        Assert.assertEquals(ran.get(), 0, "queued tasks must not run after shutdownNow");
+        for (Future<?> future : queued) {
+            Assert.assertThrows(CancellationException.class, () -> future.get(1, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void rejectsEmptyCap() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new VirtualThreadExecutor(0));
+    }
+}
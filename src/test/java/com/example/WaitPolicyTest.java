@@ -0,0 +1,61 @@
+package com.example;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class WaitPolicyTest {
+
+    /** Driver stub whose findElements finds one element from the given call on (never if 0) */
+    private static WebDriver appearingAfter(int call, AtomicInteger calls) {
+        WebElement element = StubDriver.element((method, args) -> null);
+        return new StubDriver().on("findElements", args -> {
+            int n = calls.incrementAndGet();
+            return call > 0 && n >= call ? List.of(element) : List.of();
+        }).build();
+    }
+
+    @Test
+    public void zeroBudgetLooksExactlyOnce() {
+        AtomicInteger calls = new AtomicInteger();
+        WaitPolicy lookups = new WaitPolicy(appearingAfter(0, calls));
+        long start = System.nanoTime();
+        Assert.assertTrue(lookups.isAbsent(By.id("ui-id-1")));
+        Assert.assertTrue(lookups.findAll(By.id("ui-id-1"), Duration.ZERO).isEmpty());
+        Assert.assertTrue(System.nanoTime() - start < 50_000_000L);
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertTrue(lookups.getDeadlineHits().isEmpty(), "zero budgets are not deadline hits");
+    }
+
+    @Test
+    public void returnsAsSoonAsTheElementAppears() {
+        AtomicInteger calls = new AtomicInteger();
+        WaitPolicy lookups = new WaitPolicy(appearingAfter(3, calls));
+        Assert.assertNotNull(lookups.find(By.id("late"), Duration.ofSeconds(5)));
+        Assert.assertEquals(calls.get(), 3);
+        Assert.assertEquals(lookups.getLookups(), 1);
+    }
+
+    @Test
+    public void reportsLookupsThatHitTheirDeadline() {
+        WaitPolicy lookups = new WaitPolicy(appearingAfter(0, new AtomicInteger()));
+        Assert.assertThrows(NoSuchElementException.class, () -> lookups.find(By.id("never"), Duration.ofMillis(100)));
+        Assert.assertTrue(lookups.isAbsent(By.id("never"), Duration.ZERO));
+        Assert.assertEquals(lookups.getDeadlineHits().get(By.id("never").toString()).intValue(), 1);
+        Assert.assertTrue(lookups.report().contains("deadline hits: 1"), lookups.report());
+    }
+
+    @Test
+    public void absenceWithBudgetFailsWhileStillPresent() {
+        WaitPolicy lookups = new WaitPolicy(appearingAfter(1, new AtomicInteger()));
+        Assert.assertFalse(lookups.isAbsent(By.id("sticky"), Duration.ofMillis(50)));
+        Assert.assertEquals(lookups.getDeadlineHits().size(), 1);
+    }
+}